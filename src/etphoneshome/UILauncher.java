@@ -2,10 +2,18 @@ package etphoneshome;
 
 import etphoneshome.entities.characters.Character;
 import etphoneshome.entities.characters.ET;
+import etphoneshome.graphics.DecodedImageCache;
 import etphoneshome.graphics.GraphicsRepainter;
+import etphoneshome.graphics.RenderMode;
+import etphoneshome.graphics.SpriteCache;
 import etphoneshome.listeners.InputListener;
 import etphoneshome.managers.*;
 import etphoneshome.objects.Level;
+import etphoneshome.objects.Location;
+import etphoneshome.objects.ReesesPieces;
+
+import java.io.File;
+import java.io.IOException;
 
 public class UILauncher {
 	
@@ -64,15 +72,108 @@ public class UILauncher {
      */
     private static AnimationManager animationManager;
 
+    /**
+     * Runs the game on its own thread
+     */
+    private static SimulationManager simulationManager;
+
     /**
      * Tracks whether game is in debug mode or not
      */
     private static boolean debugMode;
 
+    /**
+     * Tracks whether the performance overlay is showing, toggled with F3
+     */
+    private static boolean performanceOverlay;
+
+    /**
+     * How the level is drawn, toggled with F4
+     */
+    private static RenderMode renderMode = RenderMode.CANVAS;
+
+    /**
+     * Pixels drawn per pixel of the 1920x1080 world before the window scales it to the screen, lower is faster
+     */
+    private static double renderScale = 1;
+
+    /**
+     * Tracks whether the render scale and background are picked from how long frames take
+     */
+    private static boolean adaptiveQuality = true;
+
+    /**
+     * Tracks whether the layers are drawn on the CPU and shown as a single image instead of on canvases
+     */
+    private static boolean softwareRendering;
+
+    /**
+     * Keeps the large images of the levels within a budget of bytes, and the budget it is made with
+     */
+    private static AssetManager assetManager;
+    private static long assetBudget = AssetManager.DEFAULT_BUDGET;
+
+    /**
+     * Seed the game was set up with, and the file the session is saved to when the game exits (null to not save it)
+     */
+    private static long seed;
+    private static File sessionFile;
+
     public static void main(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            //records the game to the file given after --record so it can be exported with FrameExporter
+            if (args[i].equals("--record") && i + 1 < args.length) {
+                UILauncher.sessionFile = new File(args[++i]);
+            }
+            //draws the level as a scene graph instead of canvases
+            if (args[i].equals("--scene-graph")) {
+                UILauncher.renderMode = RenderMode.SCENE_GRAPH;
+            }
+            //draws at a fixed fraction of the resolution of the world instead of picking it from frame times, e.g. --render-scale 0.5
+            if (args[i].equals("--render-scale") && i + 1 < args.length) {
+                UILauncher.renderScale = Double.parseDouble(args[++i]);
+                UILauncher.adaptiveQuality = false;
+            }
+            //keeps the images of levels within this many megabytes once no level needs them, e.g. --asset-budget 64
+            if (args[i].equals("--asset-budget") && i + 1 < args.length) {
+                UILauncher.assetBudget = Long.parseLong(args[++i]) * 1024 * 1024;
+            }
+            //draws the layers on the CPU and shows them as a single image, the level can't be drawn as a scene graph then
+            if (args[i].equals("--software")) {
+                UILauncher.softwareRendering = true;
+            }
+            //decodes every image instead of reading the pixels decoded by an earlier run
+            if (args[i].equals("--no-image-cache")) {
+                DecodedImageCache.setDirectory(null);
+            }
+        }
+
+        if (UILauncher.softwareRendering) {
+            UILauncher.renderMode = RenderMode.CANVAS;
+        }
+        UILauncher.setup(System.nanoTime());
+
+        //UILauncher.debugMode = true;
+        
+        //launches game
+        UILauncher.graphicsRepainter.goLaunch(args);
+    }
+
+    /**
+     * Creates the managers and loads the first level, without opening the window
+     *
+     * @param seed seed of everything random in the game, the same seed sets the game up the same way
+     */
+    public static void setup(long seed) {
     	
+    	//decodes every sprite once so the game loop never has to
+        SpriteCache.preloadAll();
+        UILauncher.seed = seed;
+        ReesesPieces.setSeed(seed);
+
     	//Creates instances of all the objects needed 
         UILauncher.character = new ET();
+        UILauncher.assetManager = new AssetManager(UILauncher.assetBudget);
         UILauncher.graphicsRepainter = new GraphicsRepainter();
         UILauncher.collectibleManager = new CollectiblesManager();
         UILauncher.obstacleManager = new ObstacleManager();
@@ -82,14 +183,44 @@ public class UILauncher {
         UILauncher.animationManager = new AnimationManager(entityManager);
         UILauncher.backgroundManager = new BackgroundManager(graphicsRepainter);
         UILauncher.gameManager = new GameManager(graphicsRepainter, entityManager, collectibleManager, levelManager, flaskManager, obstacleManager, animationManager, character);
-        UILauncher.inputListener = new InputListener(character, backgroundManager, gameManager, levelManager, flaskManager, animationManager);
+        UILauncher.inputListener = new InputListener(character, gameManager, levelManager, flaskManager);
+        UILauncher.simulationManager = new SimulationManager(graphicsRepainter);
         UILauncher.levelManager.addLevel(new Level("level-0"));
         UILauncher.levelManager.loadLevel(0);
+    }
 
-        //UILauncher.debugMode = true;
-        
-        //launches game
-        UILauncher.graphicsRepainter.goLaunch(args);
+    /**
+     * Makes the character the user plays as and puts it at its starting point
+     *
+     * @return the new character
+     */
+    public static Character setupCharacter() {
+        Character character = new ET();
+        character.setHealth(3);
+        UILauncher.setCharacter(character);
+        character.setLocation(new Location(UILauncher.gameManager.getCenterXCord(), UILauncher.gameManager.getGroundLevel(character)));
+        return character;
+    }
+
+    /**
+     * Saves the session played so far if the game was started with --record
+     */
+    public static void saveSession() {
+        if (UILauncher.sessionFile == null) {
+            return;
+        }
+        try {
+            UILauncher.simulationManager.getSession().save(UILauncher.sessionFile);
+        } catch (IOException e) {
+            System.out.println("FAILED TO SAVE: " + UILauncher.sessionFile);
+        }
+    }
+
+    /**
+     * @return seed returns the seed the game was set up with
+     */
+    public static long getSeed() {
+        return UILauncher.seed;
     }
 
     /**
@@ -165,6 +296,83 @@ public class UILauncher {
         return UILauncher.debugMode;
     }
     
+    /**
+     * @return performanceOverlay returns whether the performance overlay is showing
+     */
+    public static boolean getPerformanceOverlay() {
+        return UILauncher.performanceOverlay;
+    }
+
+    /**
+     * @param performanceOverlay sets whether the performance overlay is showing
+     */
+    public static void setPerformanceOverlay(boolean performanceOverlay) {
+        UILauncher.performanceOverlay = performanceOverlay;
+    }
+
+    /**
+     * @return renderMode returns how the level is drawn
+     */
+    public static RenderMode getRenderMode() {
+        return UILauncher.renderMode;
+    }
+
+    /**
+     * @param renderMode sets how the level is drawn
+     */
+    public static void setRenderMode(RenderMode renderMode) {
+        UILauncher.renderMode = renderMode;
+    }
+
+    /**
+     * @return renderScale returns the pixels drawn per pixel of the world
+     */
+    public static double getRenderScale() {
+        return UILauncher.renderScale;
+    }
+
+    /**
+     * @param renderScale sets the pixels drawn per pixel of the world
+     */
+    public static void setRenderScale(double renderScale) {
+        UILauncher.renderScale = renderScale;
+    }
+
+    /**
+     * @return softwareRendering returns whether the layers are drawn on the CPU
+     */
+    public static boolean getSoftwareRendering() {
+        return UILauncher.softwareRendering;
+    }
+
+    /**
+     * @return adaptiveQuality returns whether the quality is picked from how long frames take
+     */
+    public static boolean getAdaptiveQuality() {
+        return UILauncher.adaptiveQuality;
+    }
+
+    /**
+     * @param adaptiveQuality sets whether the quality is picked from how long frames take
+     */
+    public static void setAdaptiveQuality(boolean adaptiveQuality) {
+        UILauncher.adaptiveQuality = adaptiveQuality;
+    }
+
+    /**
+     * @return assetManager returns the manager of the images of the levels
+     */
+    public static AssetManager getAssetManager() {
+        return UILauncher.assetManager;
+    }
+
+    /**
+     * @param assetManager sets the manager of the images of the levels
+     */
+    public static void setAssetManager(AssetManager assetManager) {
+        UILauncher.assetManager = assetManager;
+    }
+
     /**
      * @return collectibleManager returns the collectibles of {@code UILauncher}
      */
@@ -185,4 +393,11 @@ public class UILauncher {
     public static AnimationManager getAnimationManager() {
         return UILauncher.animationManager;
     }
+
+    /**
+     * @return simulationManager returns the simulation manager associated with {@code UILauncher}
+     */
+    public static SimulationManager getSimulationManager() {
+        return UILauncher.simulationManager;
+    }
 }
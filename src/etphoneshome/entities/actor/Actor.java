@@ -1,6 +1,7 @@
 package etphoneshome.entities.actor;
 
 import etphoneshome.entities.characters.ET;
+import etphoneshome.graphics.SpriteCache;
 import etphoneshome.graphics.SpriteURL;
 import etphoneshome.objects.Hitbox;
 import etphoneshome.objects.Location;
@@ -36,14 +37,10 @@ public abstract class Actor {
     private int health = 1;     //can be used for both characters and enemies. A default value of 1 is given
 
     /**
-     * A placeholder image associated with a generic {@code actor}
+     * A placeholder image associated with a generic {@code actor}. Sprites face right and are drawn mirrored while the
+     * {@code actor} faces left
      */
-    private Image leftEntitySprite = new Image(SpriteURL.PLACEHOLDER_SPRITE.getPath());
-
-    /**
-     * A placeholder image associated with a generic {@code actor}
-     */
-    private Image rightEntitySprite = new Image(SpriteURL.PLACEHOLDER_SPRITE.getPath());
+    private Image entitySprite = SpriteCache.getImage(SpriteURL.PLACEHOLDER_SPRITE);
 
 
     /**
@@ -163,18 +160,8 @@ public abstract class Actor {
      *
      * @return The (right-facing) image/sprite object associated with the {@code actor}
      */
-    public Image getRightEntitySprite() {
-        return this.rightEntitySprite;
-    }
-
-
-    /**
-     * Returns the (left-facing) image/sprite object associated with the {@code actor}
-     *
-     * @return The (left-facing) image/sprite object associated with the {@code actor}
-     */
-    public Image getLeftEntitySprite() {
-        return this.leftEntitySprite;
+    public Image getEntitySprite() {
+        return this.entitySprite;
     }
 
     /**
@@ -182,19 +169,9 @@ public abstract class Actor {
      *
      * @param newSpriteURL The URL/file address of the new imagee/sprite
      */
-    public void setRightEntitySprite(String newSpriteURL) {
-        this.rightEntitySprite = new Image(newSpriteURL);
-        this.hitbox = new Hitbox(this.location, (int) this.rightEntitySprite.getHeight(), (int) this.rightEntitySprite.getWidth());
-    }
-
-    /**
-     * Assigns a new (left-facing) image/sprite to the {@code actor}
-     *
-     * @param newSpriteURL The URL/file address of the new imagee/sprite
-     */
-    public void setLeftEntitySprite(String newSpriteURL) {
-        this.leftEntitySprite = new Image(newSpriteURL);
-        this.hitbox = new Hitbox(this.location, (int) this.leftEntitySprite.getHeight(), (int) this.leftEntitySprite.getWidth());
+    public void setEntitySprite(String newSpriteURL) {
+        this.entitySprite = SpriteCache.getImage(newSpriteURL);
+        this.hitbox = new Hitbox(this.location, (int) this.entitySprite.getHeight(), (int) this.entitySprite.getWidth());
     }
 
     /**
@@ -13,7 +13,12 @@ public abstract class Character extends Actor {
     /**
      * booleans of {@code Character}
      */
-    private boolean isJumping, isHoldingLeft, isHoldingRight, isHoldingUp, onPlatform, invincible;
+    private boolean isJumping, onPlatform, invincible;
+
+    /**
+     * keys held by the player, set by the JavaFX thread and read by the game thread
+     */
+    private volatile boolean isHoldingLeft, isHoldingRight, isHoldingUp;
 
     /**
      * score of {@code Character}
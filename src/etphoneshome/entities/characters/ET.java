@@ -9,11 +9,10 @@ import etphoneshome.objects.Location;
 public class ET extends Character {
 
     /**
-     * default constructor that sets the left and right sprites of {@code ET}
+     * default constructor that sets the sprite of {@code ET}
      */
     public ET() {
-        this.setRightEntitySprite(SpriteURL.ET_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.ET_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.ET.getPath());
     }
 
     /**
@@ -23,8 +22,7 @@ public class ET extends Character {
      */
     public ET(Location location) {
         super(location);
-        this.setRightEntitySprite(SpriteURL.ET_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.ET_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.ET.getPath());
     }
 
 }
\ No newline at end of file
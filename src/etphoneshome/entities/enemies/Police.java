@@ -12,14 +12,12 @@ public class Police extends Enemy {
 	 * default constructor that sets the sprites of {@code Police}
 	 */
     public Police() {
-        this.setRightEntitySprite(SpriteURL.POLICE_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.POLICE_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.POLICE.getPath());
     }
 
     public Police(Police police) {
         super(police);
-        this.setRightEntitySprite(SpriteURL.POLICE_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.POLICE_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.POLICE.getPath());
     }
 
     /**
@@ -28,8 +26,7 @@ public class Police extends Enemy {
      */
     public Police(Location location) {
         super(location);
-        this.setRightEntitySprite(SpriteURL.POLICE_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.POLICE_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.POLICE.getPath());
     }
 
 }
@@ -17,8 +17,7 @@ public class Scientist extends Enemy {
      * default constructor that sets the sprites of {@code Scientist}
      */
     public Scientist() {
-        this.setRightEntitySprite(SpriteURL.SCIENTIST_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.SCIENTIST_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.SCIENTIST.getPath());
     }
 
     /**
@@ -28,14 +27,12 @@ public class Scientist extends Enemy {
      */
     public Scientist(Location location) {
         super(location);
-        this.setRightEntitySprite(SpriteURL.SCIENTIST_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.SCIENTIST_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.SCIENTIST.getPath());
     }
 
     public Scientist(Scientist scientist) {
         super(scientist);
-        this.setRightEntitySprite(SpriteURL.SCIENTIST_RIGHT.getPath());
-        this.setLeftEntitySprite(SpriteURL.SCIENTIST_LEFT.getPath());
+        this.setEntitySprite(SpriteURL.SCIENTIST.getPath());
         this.setThrownFlask(scientist.getThrownFlask());
     }
 
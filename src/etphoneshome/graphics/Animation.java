@@ -43,7 +43,7 @@ public class Animation {
         this.animationFrames = animationFrames;
         this.frames.clear();
         for (String framePath : animationFrames.getFramePaths()) {
-            this.frames.add(new Image(framePath));
+            this.frames.add(SpriteCache.getImage(framePath));
         }
     }
 
@@ -4,19 +4,17 @@ import javafx.embed.swing.JFXPanel;
 
 import java.util.ArrayList;
 
+/**
+ * This enum lists the frames of every animation. Frames face right like the sprites of the actors, and are drawn
+ * mirrored while the actor they belong to faces left.
+ */
 public enum AnimationFrames {
 
-    POLICE_DEATH_LEFT(10, SpriteURL.POLICE_HURT_LEFT.getPath(), SpriteURL.POLICE_LEFT.getPath(), SpriteURL.POLICE_HURT_LEFT.getPath(), SpriteURL.POLICE_LEFT.getPath(), SpriteURL.POLICE_HURT_LEFT.getPath()),
+    POLICE_DEATH(10, SpriteURL.POLICE_HURT.getPath(), SpriteURL.POLICE.getPath(), SpriteURL.POLICE_HURT.getPath(), SpriteURL.POLICE.getPath(), SpriteURL.POLICE_HURT.getPath()),
 
-    POLICE_DEATH_RIGHT(10, SpriteURL.POLICE_HURT_RIGHT.getPath(), SpriteURL.POLICE_RIGHT.getPath(), SpriteURL.POLICE_HURT_RIGHT.getPath(), SpriteURL.POLICE_RIGHT.getPath(), SpriteURL.POLICE_HURT_RIGHT.getPath()),
+    SCIENTIST_DEATH(10, SpriteURL.SCIENTIST_HURT.getPath(), SpriteURL.SCIENTIST.getPath(), SpriteURL.SCIENTIST_HURT.getPath(), SpriteURL.SCIENTIST.getPath(), SpriteURL.SCIENTIST_HURT.getPath()),
 
-    SCIENTIST_DEATH_LEFT(10, SpriteURL.SCIENTIST_HURT_LEFT.getPath(), SpriteURL.SCIENTIST_LEFT.getPath(), SpriteURL.SCIENTIST_HURT_LEFT.getPath(), SpriteURL.SCIENTIST_LEFT.getPath(), SpriteURL.SCIENTIST_HURT_LEFT.getPath()),
-
-    SCIENTIST_DEATH_RIGHT(10, SpriteURL.SCIENTIST_HURT_RIGHT.getPath(), SpriteURL.SCIENTIST_RIGHT.getPath(), SpriteURL.SCIENTIST_HURT_RIGHT.getPath(), SpriteURL.SCIENTIST_RIGHT.getPath(), SpriteURL.SCIENTIST_HURT_RIGHT.getPath()),
-
-    ET_HURT_LEFT(10, SpriteURL.ET_HURT_LEFT.getPath(), SpriteURL.ET_LEFT.getPath(), SpriteURL.ET_HURT_LEFT.getPath(), SpriteURL.ET_LEFT.getPath(), SpriteURL.ET_HURT_LEFT.getPath()),
-
-    ET_HURT_RIGHT(10, SpriteURL.ET_HURT_RIGHT.getPath(), SpriteURL.ET_RIGHT.getPath(), SpriteURL.ET_HURT_RIGHT.getPath(), SpriteURL.ET_RIGHT.getPath(), SpriteURL.ET_HURT_RIGHT.getPath());
+    ET_HURT(10, SpriteURL.ET_HURT.getPath(), SpriteURL.ET.getPath(), SpriteURL.ET_HURT.getPath(), SpriteURL.ET.getPath(), SpriteURL.ET_HURT.getPath());
 
     private int frameLength = 20;
     private ArrayList<String> framePaths = new ArrayList<>();
@@ -0,0 +1,68 @@
+package etphoneshome.graphics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * This class loads assets on a small pool of worker threads so decoding them never holds up the JavaFX thread or the
+ * game thread. Using load runs the loading of an asset on the pool and returns a future of it, and using getProgress
+ * returns how much of what was asked for since the loader was last idle has finished, e.g. to draw a loading bar.
+ */
+public class AssetLoader {
+
+    /**
+     * threads every loader runs its assets on, they don't keep the game running once the window is closed
+     */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * amount of assets asked for and finished since the loader was last idle
+     */
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    /**
+     * Loads an asset on the pool
+     *
+     * @param asset loads and returns the asset
+     * @param <T>   type of the asset
+     * @return future of the asset, completed exceptionally if it couldn't be loaded
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> asset) {
+        //everything asked for before was finished, so the progress starts over
+        if (this.isIdle()) {
+            this.requested.set(0);
+            this.finished.set(0);
+        }
+        this.requested.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return asset.get();
+            } finally {
+                this.finished.incrementAndGet();
+            }
+        }, pool);
+    }
+
+    /**
+     * @return true if every asset asked for has finished loading
+     */
+    public boolean isIdle() {
+        return this.finished.get() >= this.requested.get();
+    }
+
+    /**
+     * @return fraction of the assets asked for since the loader was last idle that have finished, 1 if it is idle
+     */
+    public double getProgress() {
+        int requested = this.requested.get();
+        return requested == 0 ? 1 : Math.min(1, this.finished.get() / (double) requested);
+    }
+}
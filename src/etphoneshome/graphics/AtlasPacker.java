@@ -0,0 +1,133 @@
+package etphoneshome.graphics;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class packs the sprites of {@code SpriteURL} into {@code TextureAtlas} pages. Running the main method packs
+ * the atlas offline and writes the pages and index to the images/atlas directory, where {@code TextureAtlas.load}
+ * picks them up. Sprites are placed on shelves, tallest first, with padding between them so smoothing never samples
+ * a neighbouring sprite.
+ */
+public class AtlasPacker {
+
+    /**
+     * size of a page and the space left around each sprite
+     */
+    public static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2;
+
+    /**
+     * Returns the sprites that belong in the atlas. Backgrounds are left out since they are as big as a page
+     *
+     * @return the sprites to be packed
+     */
+    public static List<SpriteURL> getAtlasSprites() {
+        List<SpriteURL> sprites = new ArrayList<>();
+        for (SpriteURL spriteURL : SpriteURL.values()) {
+            if (spriteURL.hasPath() && spriteURL.getPath().startsWith("images/sprites/")) {
+                sprites.add(spriteURL);
+            }
+        }
+        return sprites;
+    }
+
+    /**
+     * Returns whether a sprite fits on a page, sprites that don't are left out of the atlas
+     *
+     * @param sprite decoded image of the sprite
+     * @return true if the sprite fits on a page
+     */
+    static boolean fits(Image sprite) {
+        return sprite.getWidth() + PADDING <= PAGE_SIZE && sprite.getHeight() + PADDING <= PAGE_SIZE;
+    }
+
+    /**
+     * Packs the sprites into atlas pages
+     *
+     * @return the packed atlas
+     */
+    public static TextureAtlas pack() {
+        List<SpriteURL> sprites = getAtlasSprites();
+        sprites.sort((a, b) -> (int) (SpriteCache.getImage(b).getHeight() - SpriteCache.getImage(a).getHeight()));
+
+        List<Image> pages = new ArrayList<>();
+        TextureAtlas atlas = new TextureAtlas(pages);
+        WritableImage page = null;
+        int x = 0, y = 0, shelfHeight = 0;
+
+        for (SpriteURL spriteURL : sprites) {
+            Image sprite = SpriteCache.getImage(spriteURL);
+            int width = (int) sprite.getWidth();
+            int height = (int) sprite.getHeight();
+            if (!fits(sprite)) {
+                System.out.println(spriteURL + " is too big for the atlas and is left out");
+                continue;
+            }
+
+            //starts a new shelf when the sprite doesn't fit on this one, and a new page when the shelf doesn't fit
+            if (page != null && x + width + PADDING > PAGE_SIZE) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (page == null || y + height + PADDING > PAGE_SIZE) {
+                page = new WritableImage(PAGE_SIZE, PAGE_SIZE);
+                pages.add(page);
+                x = 0;
+                y = 0;
+                shelfHeight = 0;
+            }
+
+            PixelWriter pixelWriter = page.getPixelWriter();
+            pixelWriter.setPixels(x, y, width, height, sprite.getPixelReader(), 0, 0);
+            atlas.addRegion(spriteURL, new AtlasRegion(pages.size() - 1, page, x, y, width, height));
+
+            x += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height + PADDING);
+        }
+        return atlas;
+    }
+
+    /**
+     * Writes the pages and index of the atlas to the given directory
+     *
+     * @param atlas     the atlas to write
+     * @param directory the directory to write to
+     * @throws IOException if a file can't be written
+     */
+    public static void write(TextureAtlas atlas, File directory) throws IOException {
+        directory.mkdirs();
+        List<Image> pages = atlas.getPages();
+        for (int i = 0; i < pages.size(); i++) {
+            File pageFile = new File(directory, TextureAtlas.getPageFileName(i));
+            ImageIO.write(SwingFXUtils.fromFXImage(pages.get(i), null), "png", pageFile);
+        }
+        try (FileWriter writer = new FileWriter(new File(directory, "atlas.txt"))) {
+            atlas.writeIndex(writer);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File("images" + File.separator + "atlas");
+        if (args.length > 0) {
+            directory = new File(args[0]);
+        } else if (!new File("images").exists()) {
+            directory = new File("ET Phones Home" + File.separator + "src" + File.separator + "images" + File.separator + "atlas");
+        }
+
+        TextureAtlas atlas = AtlasPacker.pack();
+        AtlasPacker.write(atlas, directory);
+        System.out.println("Packed " + getAtlasSprites().size() + " sprites into " + atlas.getPages().size() + " page(s) in " + directory.getPath());
+        System.exit(0);
+    }
+}
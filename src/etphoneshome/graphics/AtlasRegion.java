@@ -0,0 +1,63 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+
+/**
+ * This class is a rectangle of a {@code TextureAtlas} page that holds a single sprite
+ */
+public class AtlasRegion {
+
+    /**
+     * index of the page the sprite is on and the page image itself
+     */
+    private final int pageIndex;
+    private final Image page;
+
+    /**
+     * top left corner and size of the sprite on the page
+     */
+    private final int x, y, width, height;
+
+    /**
+     * Constructor that sets the page and the rectangle of the sprite on it
+     *
+     * @param pageIndex index of the page the sprite is on
+     * @param page      image of the page the sprite is on
+     * @param x         x coordinate of the sprite on the page
+     * @param y         y coordinate of the sprite on the page
+     * @param width     width of the sprite
+     * @param height    height of the sprite
+     */
+    public AtlasRegion(int pageIndex, Image page, int x, int y, int width, int height) {
+        this.pageIndex = pageIndex;
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getPageIndex() {
+        return this.pageIndex;
+    }
+
+    public Image getPage() {
+        return this.page;
+    }
+
+    public int getX() {
+        return this.x;
+    }
+
+    public int getY() {
+        return this.y;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+}
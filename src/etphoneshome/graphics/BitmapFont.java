@@ -0,0 +1,186 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * This class draws numbers and short text from a strip of pre-rendered glyphs instead of laying out text. The glyphs
+ * are rendered once into a single image, and drawing a number queues one draw of that image per digit, so the HUD
+ * can be drawn on a canvas without any text nodes in the scene and without making any strings.
+ */
+public class BitmapFont {
+
+    /**
+     * characters in the glyph strip unless others are given, in order
+     */
+    public static final String GLYPHS = "0123456789/";
+
+    /**
+     * characters in the glyph strip of this font, in order
+     */
+    private final String glyphs;
+
+    /**
+     * strip of every glyph side by side
+     */
+    private final Image strip;
+
+    /**
+     * x coordinate and width of every glyph in the strip, and the height of the strip
+     */
+    private final int[] glyphX;
+    private final int[] glyphWidth;
+    private final int height;
+
+    /**
+     * digits of the number being drawn, reused so drawing a number doesn't allocate
+     */
+    private final int[] digits = new int[10];
+
+    /**
+     * Constructor that renders the glyph strip of the digits and {@code /}
+     *
+     * @param fontName name of the font
+     * @param size     size of the font
+     * @param argb     color of the glyphs
+     */
+    public BitmapFont(String fontName, int size, int argb) {
+        this(fontName, size, argb, GLYPHS);
+    }
+
+    /**
+     * Constructor that renders the glyph strip of the given characters
+     *
+     * @param fontName name of the font
+     * @param size     size of the font
+     * @param argb     color of the glyphs
+     * @param glyphs   characters that can be drawn, must include the digits to draw numbers
+     */
+    public BitmapFont(String fontName, int size, int argb, String glyphs) {
+        Font font = new Font(fontName, Font.PLAIN, size);
+        this.glyphs = glyphs;
+        this.glyphX = new int[glyphs.length()];
+        this.glyphWidth = new int[glyphs.length()];
+
+        //measuring the glyphs
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D scratchGraphics = scratch.createGraphics();
+        FontMetrics metrics = scratchGraphics.getFontMetrics(font);
+        scratchGraphics.dispose();
+        int width = 0;
+        for (int i = 0; i < glyphs.length(); i++) {
+            this.glyphX[i] = width;
+            this.glyphWidth[i] = metrics.charWidth(glyphs.charAt(i));
+            width += this.glyphWidth[i];
+        }
+        this.height = metrics.getHeight();
+
+        //rendering the glyphs
+        BufferedImage image = new BufferedImage(width, this.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setFont(font);
+        graphics.setColor(new java.awt.Color(argb, true));
+        for (int i = 0; i < glyphs.length(); i++) {
+            graphics.drawString(String.valueOf(glyphs.charAt(i)), this.glyphX[i], metrics.getAscent());
+        }
+        graphics.dispose();
+
+        int[] pixels = image.getRGB(0, 0, width, this.height, null, 0, width);
+        WritableImage strip = new WritableImage(width, this.height);
+        strip.getPixelWriter().setPixels(0, 0, width, this.height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        this.strip = strip;
+    }
+
+    /**
+     * Queues the draws of a number that is zero or more
+     *
+     * @param queue queue to add the draws to
+     * @param layer layer to draw on
+     * @param depth order of the draws within the layer
+     * @param value the number to draw
+     * @param x     x coordinate of the left of the number
+     * @param y     y coordinate of the top of the number
+     * @return x coordinate right after the number
+     */
+    public double drawNumber(RenderQueue queue, int layer, int depth, int value, double x, double y) {
+        int count = 0;
+        do {
+            this.digits[count++] = value % 10;
+            value /= 10;
+        } while (value > 0);
+
+        for (int i = count - 1; i >= 0; i--) {
+            x = this.drawChar(queue, layer, depth, (char) ('0' + this.digits[i]), x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Queues the draws of a line of text made of characters of this font
+     *
+     * @param queue queue to add the draws to
+     * @param layer layer to draw on
+     * @param depth order of the draws within the layer
+     * @param text  the text to draw
+     * @param x     x coordinate of the left of the text
+     * @param y     y coordinate of the top of the text
+     * @return x coordinate right after the text
+     */
+    public double drawText(RenderQueue queue, int layer, int depth, CharSequence text, double x, double y) {
+        for (int i = 0; i < text.length(); i++) {
+            x = this.drawChar(queue, layer, depth, text.charAt(i), x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Queues the draw of a single character of this font
+     *
+     * @param queue     queue to add the draw to
+     * @param layer     layer to draw on
+     * @param depth     order of the draw within the layer
+     * @param character the character to draw
+     * @param x         x coordinate of the left of the character
+     * @param y         y coordinate of the top of the character
+     * @return x coordinate right after the character
+     */
+    public double drawChar(RenderQueue queue, int layer, int depth, char character, double x, double y) {
+        int glyph = this.glyphs.indexOf(character);
+        if (glyph < 0) {
+            throw new IllegalArgumentException("No glyph for " + character);
+        }
+        return this.drawGlyph(queue, layer, depth, glyph, x, y);
+    }
+
+    /**
+     * Queues the draw of a glyph
+     *
+     * @param queue queue to add the draw to
+     * @param layer layer to draw on
+     * @param depth order of the draw within the layer
+     * @param glyph index of the glyph in the strip
+     * @param x     x coordinate of the left of the glyph
+     * @param y     y coordinate of the top of the glyph
+     * @return x coordinate right after the glyph
+     */
+    private double drawGlyph(RenderQueue queue, int layer, int depth, int glyph, double x, double y) {
+        int width = this.glyphWidth[glyph];
+        queue.add(layer, depth, this.strip, this.glyphX[glyph], 0, width, this.height, x, y, width, this.height);
+        return x + width;
+    }
+
+    /**
+     * @return height of the glyphs
+     */
+    public int getHeight() {
+        return this.height;
+    }
+}
@@ -0,0 +1,133 @@
+package etphoneshome.graphics;
+
+import etphoneshome.objects.Location;
+
+/**
+ * This class is the view into the level. Using update moves the camera to follow the character once per frame, and
+ * every draw then turns a level coordinate into a screen coordinate with toScreenX and toScreenY. The camera stays
+ * still until the character reaches the centre of the screen and stops scrolling past the end of the level.
+ */
+public class Camera {
+
+    /**
+     * size of the view
+     */
+    private final int width, height;
+
+    /**
+     * amount to add to a level coordinate to get its screen coordinate
+     */
+    private int offsetX, offsetY;
+
+    /**
+     * Constructor that sets the size of the view
+     *
+     * @param width  width of the view
+     * @param height height of the view
+     */
+    public Camera(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Moves the camera to follow the character
+     *
+     * @param characterLocation location of the character
+     * @param centerXCord       x coordinate the character is drawn at while the camera scrolls
+     * @param endCord           x coordinate the camera stops scrolling at
+     */
+    public void update(Location characterLocation, int centerXCord, int endCord) {
+        this.update(characterLocation.getXcord(), centerXCord, endCord);
+    }
+
+    /**
+     * Moves the camera to follow the character
+     *
+     * @param characterXCord x coordinate of the character
+     * @param centerXCord    x coordinate the character is drawn at while the camera scrolls
+     * @param endCord        x coordinate the camera stops scrolling at
+     */
+    public void update(int characterXCord, int centerXCord, int endCord) {
+        int xCord = Math.max(centerXCord, Math.min(characterXCord, endCord));
+        this.offsetX = centerXCord - xCord;
+        this.offsetY = 0;
+    }
+
+    /**
+     * Returns the x coordinate on screen of an x coordinate of the level
+     *
+     * @param xCord x coordinate in the level
+     * @return x coordinate on screen
+     */
+    public int toScreenX(int xCord) {
+        return xCord + this.offsetX;
+    }
+
+    /**
+     * Returns the y coordinate on screen of a y coordinate of the level
+     *
+     * @param yCord y coordinate in the level
+     * @return y coordinate on screen
+     */
+    public int toScreenY(int yCord) {
+        return yCord + this.offsetY;
+    }
+
+    /**
+     * Returns true if any part of the given rectangle of the level is in view
+     *
+     * @param xCord  x coordinate of the left of the rectangle
+     * @param yCord  y coordinate of the top of the rectangle
+     * @param width  width of the rectangle
+     * @param height height of the rectangle
+     * @return true if the rectangle is in view
+     */
+    public boolean isVisible(int xCord, int yCord, double width, double height) {
+        return xCord + width > this.getLeft() && xCord < this.getRight() && yCord + height > this.getTop() && yCord < this.getBottom();
+    }
+
+    public int getOffsetX() {
+        return this.offsetX;
+    }
+
+    public int getOffsetY() {
+        return this.offsetY;
+    }
+
+    /**
+     * @return x coordinate of the level at the left edge of the view
+     */
+    public int getLeft() {
+        return -this.offsetX;
+    }
+
+    /**
+     * @return x coordinate of the level at the right edge of the view
+     */
+    public int getRight() {
+        return -this.offsetX + this.width;
+    }
+
+    /**
+     * @return y coordinate of the level at the top edge of the view
+     */
+    public int getTop() {
+        return -this.offsetY;
+    }
+
+    /**
+     * @return y coordinate of the level at the bottom edge of the view
+     */
+    public int getBottom() {
+        return -this.offsetY + this.height;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+}
@@ -0,0 +1,112 @@
+package etphoneshome.graphics;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+
+/**
+ * This class draws on a stack of JavaFX canvases, one per layer. The canvases are added to the scene by
+ * {@code GraphicsRepainter} and drawn by Prism on the next pulse.
+ * <p>
+ * Draws are always made in the coordinates of the world, but the canvases can hold fewer pixels than that. With a
+ * render scale of 0.5 every canvas is half as wide and high, every draw is scaled down onto it, and the canvas node is
+ * scaled back up to the size of the world, so less is filled every frame at the cost of a blurrier picture.
+ */
+public class CanvasRenderer implements Renderer {
+
+    /**
+     * canvases of the layers from back to front, and the graphics context of each
+     */
+    private final Canvas[] canvases;
+    private final GraphicsContext[] contexts;
+
+    /**
+     * size of each layer in the world, and the transform scaling each canvas back up to that size
+     */
+    private final int[] layerWidths;
+    private final int height;
+    private final Scale[] canvasScales;
+
+    /**
+     * pixels of a canvas per unit of the world
+     */
+    private double renderScale;
+
+    /**
+     * Constructor that makes a canvas for every layer at full resolution
+     *
+     * @param height      height of the layers in the world
+     * @param layerWidths widths of the layers in the world from back to front
+     */
+    public CanvasRenderer(int height, int... layerWidths) {
+        this.layerWidths = layerWidths;
+        this.height = height;
+        this.canvases = new Canvas[layerWidths.length];
+        this.contexts = new GraphicsContext[layerWidths.length];
+        this.canvasScales = new Scale[layerWidths.length];
+        for (int i = 0; i < layerWidths.length; i++) {
+            this.canvases[i] = new Canvas();
+            this.contexts[i] = this.canvases[i].getGraphicsContext2D();
+            this.canvasScales[i] = new Scale();
+            this.canvases[i].getTransforms().add(this.canvasScales[i]);
+        }
+        this.setRenderScale(1);
+    }
+
+    /**
+     * Changes how many pixels the canvases have per unit of the world. Resizing a canvas loses what was drawn on it, so
+     * every layer has to be drawn again afterwards
+     *
+     * @param renderScale pixels per unit of the world, e.g. 0.5 for canvases half as wide and high as the world
+     */
+    public void setRenderScale(double renderScale) {
+        if (renderScale <= 0) {
+            throw new IllegalArgumentException("Render scale must be more than 0: " + renderScale);
+        }
+        this.renderScale = renderScale;
+        for (int i = 0; i < this.canvases.length; i++) {
+            this.canvases[i].setWidth(Math.ceil(this.layerWidths[i] * renderScale));
+            this.canvases[i].setHeight(Math.ceil(this.height * renderScale));
+            this.contexts[i].setTransform(renderScale, 0, 0, renderScale, 0, 0);
+            this.canvasScales[i].setX(1 / renderScale);
+            this.canvasScales[i].setY(1 / renderScale);
+        }
+    }
+
+    public double getRenderScale() {
+        return this.renderScale;
+    }
+
+    @Override
+    public void clearLayer(int layer) {
+        //cleared in world coordinates, the transform of the context scales it to the canvas
+        this.contexts[layer].clearRect(0, 0, this.layerWidths[layer], this.height);
+    }
+
+    @Override
+    public void drawImage(int layer, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight) {
+        this.contexts[layer].drawImage(texture, srcX, srcY, srcWidth, srcHeight, dstX, dstY, dstWidth, dstHeight);
+    }
+
+    @Override
+    public void strokeRect(int layer, Color color, double lineWidth, double x, double y, double width, double height) {
+        GraphicsContext gc = this.contexts[layer];
+        gc.setStroke(color);
+        gc.setLineWidth(lineWidth);
+        gc.strokeRect(x, y, width, height);
+    }
+
+    @Override
+    public void setLayerOffset(int layer, double offsetX) {
+        this.canvases[layer].setTranslateX(offsetX);
+    }
+
+    /**
+     * @return canvases of the layers from back to front
+     */
+    public Canvas[] getCanvases() {
+        return this.canvases;
+    }
+}
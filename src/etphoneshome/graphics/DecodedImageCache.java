@@ -0,0 +1,270 @@
+package etphoneshome.graphics;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * This class keeps the pixels of decoded images on disk so later runs of the game don't have to decode them again.
+ * Every image is kept in a file of its own as premultiplied ARGB pixels, next to the path and modification time of
+ * the file it was decoded from. Using load maps the file of an image into memory and copies it straight into a
+ * {@code WritableImage}, and decodes and stores the image if there is no file for it or the image changed since.
+ * <p>
+ * Only images that are files or entries of a jar have a modification time, any other image is always decoded.
+ */
+public class DecodedImageCache {
+
+    private static JFXPanel jfxPanel = new JFXPanel(); //this is needed for the class to run since there is an image attached
+
+    /**
+     * first int of every file, and the version of the layout of the files
+     */
+    private static final int MAGIC = 0x45544943, VERSION = 1;
+
+    /**
+     * directory the files are kept in, null to decode every image without a cache
+     */
+    private static File directory = new File(System.getProperty("user.home"), ".etphoneshome" + File.separator + "image-cache");
+
+    /**
+     * counters of images copied from the cache and images decoded
+     */
+    private static long hits, misses;
+
+    /**
+     * Returns the image with the given path, from the cache if it has an up to date copy of it
+     *
+     * @param path path of the image, as given to the {@code Image} constructor
+     * @return the image
+     */
+    public static Image load(String path) {
+        File directory = DecodedImageCache.directory;
+        long modified = directory == null ? 0 : getLastModified(path);
+        if (modified == 0) {
+            return decode(path);
+        }
+
+        File file = new File(directory, Integer.toHexString(path.hashCode()) + "-" + Integer.toHexString(path.length()) + ".argb");
+        try {
+            Image image = read(file, path, modified);
+            if (image != null) {
+                synchronized (DecodedImageCache.class) {
+                    hits++;
+                }
+                return image;
+            }
+        } catch (IOException | RuntimeException e) {
+            //a broken file is written again below
+        }
+
+        Image image = decode(path);
+        if (!image.isError()) {
+            try {
+                write(file, path, modified, image);
+            } catch (IOException e) {
+                System.out.println("FAILED TO CACHE: " + path);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Decodes an image without the cache
+     *
+     * @param path path of the image
+     * @return the decoded image
+     */
+    private static Image decode(String path) {
+        synchronized (DecodedImageCache.class) {
+            misses++;
+        }
+        return new Image(path);
+    }
+
+    /**
+     * Returns the modification time of the file an image is decoded from
+     *
+     * @param path path of the image
+     * @return modification time in milliseconds, or 0 if it isn't known
+     */
+    private static long getLastModified(String path) {
+        URL url = path.contains(":") ? null : Thread.currentThread().getContextClassLoader().getResource(path);
+        try {
+            if (url == null) {
+                File file = path.startsWith("file:") ? new File(new URL(path).toURI()) : new File(path);
+                return file.lastModified();
+            }
+            if (url.getProtocol().equals("file")) {
+                return new File(url.toURI()).lastModified();
+            }
+            if (url.getProtocol().equals("jar")) {
+                return ((JarURLConnection) url.openConnection()).getJarEntry().getTime();
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads an image from its file in the cache
+     *
+     * @param file     the file of the image
+     * @param path     path of the image
+     * @param modified modification time of the image
+     * @return the image, or null if there is no file or it belongs to another image or an older version of it
+     * @throws IOException if the file can't be read
+     */
+    private static Image read(File file, String path, long modified) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+            //the header is read without mapping the file, so a stale file isn't mapped and can be written over
+            byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+            int headerSize = getHeaderSize(pathBytes.length);
+            ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.nativeOrder());
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != modified) {
+                return null;
+            }
+            int width = header.getInt();
+            int height = header.getInt();
+            if (header.getInt() != pathBytes.length) {
+                return null;
+            }
+            byte[] filePathBytes = new byte[pathBytes.length];
+            header.get(filePathBytes);
+            if (!Arrays.equals(pathBytes, filePathBytes)) {
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, headerSize, channel.size() - headerSize);
+            IntBuffer pixels = buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+            if (pixels.remaining() < width * height) {
+                return null;
+            }
+            WritableImage image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, width);
+            return image;
+        }
+    }
+
+    /**
+     * Writes an image to its file in the cache. The file is written next to it first and then moved over it, so
+     * another run of the game never reads half a file. It is written without mapping it, since a mapped file can't be
+     * moved or deleted on some systems
+     *
+     * @param file     the file of the image
+     * @param path     path of the image
+     * @param modified modification time of the image
+     * @param image    the decoded image
+     * @throws IOException if the file can't be written
+     */
+    private static void write(File file, String path, long modified, Image image) throws IOException {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+
+        byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+        int headerSize = getHeaderSize(pathBytes.length);
+        Files.createDirectories(file.getParentFile().toPath());
+        File temporary = File.createTempFile("image", ".tmp", file.getParentFile());
+        try {
+            try (RandomAccessFile output = new RandomAccessFile(temporary, "rw"); FileChannel channel = output.getChannel()) {
+                ByteBuffer buffer = ByteBuffer.allocate(headerSize + 4 * pixels.length).order(ByteOrder.nativeOrder());
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(modified).putInt(width).putInt(height).putInt(pathBytes.length).put(pathBytes);
+                buffer.position(headerSize);
+                buffer.asIntBuffer().put(pixels);
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            temporary.delete();
+        }
+    }
+
+    /**
+     * Returns the size of the header of a file, rounded up so the pixels start on a whole int
+     *
+     * @param pathLength length of the path in bytes
+     * @return size of the header in bytes
+     */
+    private static int getHeaderSize(int pathLength) {
+        return (28 + pathLength + 3) / 4 * 4;
+    }
+
+    /**
+     * Changes the directory the images are kept in
+     *
+     * @param directory the directory, or null to always decode images
+     */
+    public static void setDirectory(File directory) {
+        DecodedImageCache.directory = directory;
+    }
+
+    public static File getDirectory() {
+        return DecodedImageCache.directory;
+    }
+
+    /**
+     * @return amount of images copied from the cache
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return amount of images that were decoded
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) throws IOException {
+        DecodedImageCache.setDirectory(Files.createTempDirectory("image-cache").toFile());
+        String path = SpriteURL.BACKGROUND.getPath();
+
+        long start = System.nanoTime();
+        Image decoded = DecodedImageCache.load(path);
+        long decodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        Image cached = DecodedImageCache.load(path);
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.println("Testing misses and hits. Should be 1 1: " + DecodedImageCache.getMisses() + " " + DecodedImageCache.getHits());
+        System.out.println("Testing size. Should be true: " + (decoded.getWidth() == cached.getWidth() && decoded.getHeight() == cached.getHeight()));
+        int x = (int) decoded.getWidth() / 2;
+        int y = (int) decoded.getHeight() / 2;
+        System.out.println("Testing pixel. Should be true: " + (decoded.getPixelReader().getArgb(x, y) == cached.getPixelReader().getArgb(x, y)));
+        System.out.println("Decoded in " + decodeNanos / 1000 + " us, read from the cache in " + cachedNanos / 1000 + " us");
+    }
+}
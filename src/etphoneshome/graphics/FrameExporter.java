@@ -0,0 +1,130 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import etphoneshome.entities.characters.Character;
+import etphoneshome.managers.SimulationManager;
+import etphoneshome.objects.Session;
+import etphoneshome.sound.Sound;
+import javafx.embed.swing.JFXPanel;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class turns a session recorded with --record into a numbered sequence of PNG files, one per tick. The session
+ * is played back on the calling thread with the sound muted, keeping the snapshot of every tick. The ticks are then
+ * split into runs of frames that are drawn with a {@code SoftwareRenderer} and encoded on a pool of threads, so it
+ * runs much faster than the game itself on a machine with a few cores.
+ * <p>
+ * Usage: {@code FrameExporter <session file> <output directory> [threads]}
+ */
+public class FrameExporter {
+
+    /**
+     * amount of runs of frames each thread gets, more runs spread the work more evenly but redraw every layer at the
+     * start of each run
+     */
+    private static final int RUNS_PER_THREAD = 4;
+
+    /**
+     * Everything a thread needs to draw frames, made once per thread
+     */
+    private static class Worker {
+        private final GraphicsRepainter graphicsRepainter = new GraphicsRepainter();
+        private final SoftwareRenderer renderer = new SoftwareRenderer(graphicsRepainter.WIDTH, graphicsRepainter.HEIGHT, graphicsRepainter.getLayerWidths());
+        private final BufferedImage image = new BufferedImage(graphicsRepainter.WIDTH, graphicsRepainter.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        private final int[] frame = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    private static final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 2) {
+            System.out.println("Usage: FrameExporter <session file> <output directory> [threads]");
+            return;
+        }
+        Session session = new Session(new File(args[0]));
+        File directory = new File(args[1]);
+        int threads = args.length > 2 ? Integer.valueOf(args[2]) : Runtime.getRuntime().availableProcessors();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not make " + directory);
+        }
+
+        new JFXPanel(); //this is needed to make images without opening the window
+        Sound.setMuted(true);
+        UILauncher.setup(session.getSeed());
+        Character character = UILauncher.setupCharacter();
+
+        //playing the session back and keeping every snapshot
+        long start = System.nanoTime();
+        SimulationManager simulationManager = UILauncher.getSimulationManager();
+        simulationManager.prepare(character);
+        List<WorldSnapshot> snapshots = new ArrayList<>();
+        snapshots.add(simulationManager.getSnapshots().getCurrent());
+        long time = 0;
+        for (int tick = 0; tick < session.getLength(); tick++) {
+            time += SimulationManager.TICK_NANOS;
+            simulationManager.replayTick(session.getInput(tick), time);
+            snapshots.add(simulationManager.getSnapshots().getCurrent());
+        }
+        System.out.println("Played back " + session.getLength() + " ticks in " + (System.nanoTime() - start) / 1000000 + " ms");
+
+        //drawing and encoding the frames, each run of frames is drawn in order so the layers can be reused
+        start = System.nanoTime();
+        int frames = snapshots.size() - 1;
+        int runs = Math.max(1, Math.min(frames, threads * RUNS_PER_THREAD));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            int first = 1 + (int) ((long) frames * run / runs);
+            int last = 1 + (int) ((long) frames * (run + 1) / runs);
+            results.add(pool.submit(() -> {
+                exportRun(snapshots, first, last, directory);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println("Exported " + frames + " frames in " + millis + " ms, "
+                + frames * SimulationManager.TICK_MILLIS / (double) Math.max(1, millis) + "x real time");
+        System.exit(0);
+    }
+
+    /**
+     * Draws and writes a run of frames on the calling thread
+     *
+     * @param snapshots snapshot of every tick, frame n is drawn from snapshot n
+     * @param first     first frame of the run
+     * @param last      frame after the last frame of the run
+     * @param directory directory the frames are written to
+     * @throws IOException if a frame can't be written
+     */
+    private static void exportRun(List<WorldSnapshot> snapshots, int first, int last, File directory) throws IOException {
+        Worker worker = workers.get();
+        worker.graphicsRepainter.setRenderer(worker.renderer);
+        for (int frame = first; frame < last; frame++) {
+            worker.graphicsRepainter.render(snapshots.get(frame - 1), snapshots.get(frame), 1);
+            worker.renderer.composite(worker.frame);
+            File file = new File(directory, String.format("frame-%06d.png", frame));
+            if (!ImageIO.write(worker.image, "png", file)) {
+                throw new IOException("No PNG writer for " + file);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class draws the layers on the CPU like {@code SoftwareRenderer} and shows the frames in the window. Using
+ * present composites the layers into a frame of premultiplied ARGB pixels on the common fork-join pool and copies it
+ * into a {@code WritableImage} shown by the view, so JavaFX only has to draw a single image per frame.
+ */
+public class FramebufferRenderer extends SoftwareRenderer {
+
+    /**
+     * size of a frame
+     */
+    private final int width, height;
+
+    /**
+     * pixels of the last frame, and the image and view they are shown with
+     */
+    private final int[] frame;
+    private final WritableImage image;
+    private final ImageView view;
+
+    /**
+     * Constructor that makes the layers and the image the frames are shown with
+     *
+     * @param width       width of a frame
+     * @param height      height of a frame and of every layer
+     * @param layerWidths width of every layer from back to front
+     */
+    public FramebufferRenderer(int width, int height, int... layerWidths) {
+        super(width, height, layerWidths);
+        this.width = width;
+        this.height = height;
+        this.frame = new int[width * height];
+        this.image = new WritableImage(width, height);
+        this.view = new ImageView(this.image);
+    }
+
+    /**
+     * Composites the layers and shows the frame, called once everything of a frame is drawn. Must be called on the
+     * JavaFX thread
+     */
+    public void present() {
+        this.composite(this.frame, ForkJoinPool.commonPool());
+        this.image.getPixelWriter().setPixels(0, 0, this.width, this.height, PixelFormat.getIntArgbPreInstance(), this.frame, 0, this.width);
+    }
+
+    /**
+     * @return view showing the frames, to be added to the window
+     */
+    public ImageView getView() {
+        return this.view;
+    }
+}
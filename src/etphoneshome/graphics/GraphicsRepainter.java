@@ -2,29 +2,26 @@ package etphoneshome.graphics;
 
 import etphoneshome.UILauncher;
 import etphoneshome.entities.characters.Character;
-import etphoneshome.entities.characters.ET;
-import etphoneshome.entities.enemies.Enemy;
-import etphoneshome.listeners.InputListener;
-import etphoneshome.managers.AnimationManager;
 import etphoneshome.managers.BackgroundManager;
-import etphoneshome.managers.GameManager;
-import etphoneshome.managers.LevelManager;
+import etphoneshome.managers.SimulationManager;
 import etphoneshome.objects.*;
 import etphoneshome.sound.Sound;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.scene.transform.Scale;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
-import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class responsible for repainting the graphics of the game
@@ -32,34 +29,146 @@ import javafx.util.Duration;
 public class GraphicsRepainter extends Application {
 
     /**
-     * Width and height of the screen
+     * Width and height of the world everything is laid out and drawn in. The window scales it to fit the screen, so
+     * the game plays the same on any display
      */
     public final int WIDTH = 1920;
     public final int HEIGHT = 1080;
-    private Label score = new Label();
 
+    /**
+     * Font the numbers of the HUD are drawn with
+     */
+    private final BitmapFont hudFont = new BitmapFont("Arial", 20, 0xFFFFFFFF);
 
-    private int RENDER_RANGE;
 
     /**
      * images needed to play the game
      */
 
-    private final Image GAMEOVER = new Image(SpriteURL.GAMEOVER.getPath());
+    private final Image GAMEOVER = SpriteCache.getImage(SpriteURL.GAMEOVER);
+
+    /**
+     * Atlas the sprites are drawn from
+     */
+    private TextureAtlas atlas;
+
+    /**
+     * View into the level, moved once per frame
+     */
+    private final Camera camera = new Camera(this.WIDTH, this.HEIGHT);
+
+    /**
+     * Pre-rendered obstacles of the current level
+     */
+    private final StaticGeometryCache staticGeometry = new StaticGeometryCache();
+
+    /**
+     * Obstacles overlapping the chunk being drawn one by one, reused every time
+     */
+    private final List<Obstacle> chunkObstacles = new ArrayList<>();
+
+    /**
+     * Width of a tile, the static layer is only redrawn once the view has moved this far
+     */
+    private static final int TILE = PlatformStrips.BRICK_WIDTH;
+
+    /**
+     * Stacked layers of the screen from back to front. The static layer is a tile wider on each side so it can be
+     * slid under the view between redraws
+     */
+    private final int STATIC_WIDTH = this.WIDTH + 2 * TILE;
+    private final CanvasRenderer canvasRenderer = new CanvasRenderer(this.HEIGHT, this.WIDTH, this.STATIC_WIDTH, this.WIDTH, this.WIDTH);
+
+    /**
+     * Renderer the layers are drawn with, the canvases of the window unless another one is set
+     */
+    private Renderer renderer = this.canvasRenderer;
+
+    /**
+     * Renderer drawing the layers on the CPU and showing them as a single image, made with the window when the game
+     * is started with --software
+     */
+    private FramebufferRenderer framebufferRenderer;
+
+    /**
+     * How the level is drawn, and the nodes of the level while it is drawn as a scene graph. The nodes sit between
+     * the static and actor layers, which stay for the background, hitboxes and overlays
+     */
+    private RenderMode renderMode = RenderMode.CANVAS;
+    private SceneGraphWorld sceneGraphWorld;
+
+    /**
+     * Picks the render scale and whether the background scrolls from how long frames take, while the quality is
+     * adaptive
+     */
+    private final QualityController qualityController = new QualityController();
+    private boolean parallaxEnabled = true;
+
+    /**
+     * How long the last call to render took
+     */
+    private long lastRenderNanos;
+
+    /**
+     * Indices of the layers in the render queue, and the order draws are made in within a layer
+     */
+    private static final int BACKGROUND_LAYER = 0, STATIC_LAYER = 1, ACTOR_LAYER = 2, HUD_LAYER = 3;
+    private static final int FINISH_LINE_DEPTH = 0, OBSTACLE_DEPTH = 1;
+    private static final int HEART_DEPTH = 0, TEXT_DEPTH = 1, OVERLAY_DEPTH = 2;
+    private static final int LOADING_DEPTH = 8, PERFORMANCE_DEPTH = 16;
+
+    /**
+     * Overlay of frame and tick times, shown on top of the actors while F3 is toggled on
+     */
+    private final PerformanceOverlay performanceOverlay = new PerformanceOverlay();
+
+    /**
+     * Screen covering the HUD layer while the assets of a level are loading, and whether it is showing
+     */
+    private final LoadingScreen loadingScreen = new LoadingScreen();
+    private boolean loadingShown;
+
+    /**
+     * Draws of the current frame, flushed onto the layers at the end of the frame
+     */
+    private final RenderQueue renderQueue = new RenderQueue(256);
+
+    /**
+     * What each layer was last drawn with, a layer is only redrawn once these change
+     */
+    private List<ParallaxLayer> lastBackgroundLayers;
+    private int lastBackgroundOffsetX;
+    private int lastStaticTile, lastStaticState;
+    private int lastHealth, lastScore, lastPhonePiecesLeft;
+
+    /**
+     * Snapshot and interpolation drawn last frame, and whether the game over or win screen is showing
+     */
+    private WorldSnapshot lastSnapshot;
+    private double lastAlpha;
+    private boolean gameOverShown, wonShown;
+
+    /**
+     * Previous and current snapshot read each frame
+     */
+    private final WorldSnapshot[] snapshots = new WorldSnapshot[2];
+
+    /**
+     * Objects that move further than this in one tick were moved on purpose (e.g. a new try) and aren't interpolated
+     */
+    private static final int MAX_INTERPOLATED_DISTANCE = 200;
 
     /**
      * Instances needed to draw on the stage and make the screen
      */
-    private Canvas canvas = new Canvas(this.WIDTH, this.HEIGHT);
-    private GraphicsContext gc = canvas.getGraphicsContext2D();
     private Group root = new Group();
     private Scene scene = new Scene(root);
     private Stage stage;
 
     /**
-     * Instance associated with running a game loop
+     * Instance associated with drawing the game every frame, the game itself runs in {@code SimulationManager}
      */
-    private Timeline timeline = new Timeline();
+    private AnimationTimer renderLoop;
 
     /**
      * A button needed to playAgain the game
@@ -75,27 +184,17 @@ public class GraphicsRepainter extends Application {
 
     public void start(Stage stage) {
 
+        //packing sprites into as few textures as possible
+        this.atlas = TextureAtlas.getShared();
+
         //creating stage
         this.stage = stage;
         this.createWindow(stage);
 
         //making character and setting it's starting point
-        Character character = new ET();
-        character.setHealth(3);
-        UILauncher.setCharacter(character);
-        character.setLocation(new Location(UILauncher.getGameManager().getCenterXCord(), UILauncher.getGameManager().getGroundLevel(character)));
-
-        RENDER_RANGE = (this.WIDTH) + (int) character.getRightEntitySprite().getWidth();
+        Character character = UILauncher.setupCharacter();
 
-        this.setupButtons(character);
-
-        //set label for the score
-        score.setText("" + character.getScore());
-        score.setFont(new Font("Arial", 20));
-        score.setTranslateX(WIDTH / 2);
-        score.setTranslateY(100);
-        score.setTextFill(Color.WHITE);
-        root.getChildren().add(score);
+        this.setupButtons();
 
         this.registerKeyEvents();
 
@@ -105,16 +204,15 @@ public class GraphicsRepainter extends Application {
         sound.playTheme();
 
 
-        //staring the actual game
-        this.startTimeline(character);
+        //staring the actual game, and drawing it
+        UILauncher.getSimulationManager().start(character);
+        this.startRenderLoop();
     }
 
     /**
      * Method used to setup buttons
-     *
-     * @param character The character object of the game
      */
-    private void setupButtons(Character character) {
+    private void setupButtons() {
 
         // creating playAgainButton 
         playAgainButton = new Button();
@@ -134,41 +232,29 @@ public class GraphicsRepainter extends Application {
 
         root.getChildren().add(exitButton);
 
-        this.setupButtonEvents(character);
+        this.setupButtonEvents();
 
     }
 
     /**
      * Method used to setup button events
-     *
-     * @param character The character object of the game
      */
-    private void setupButtonEvents(Character character) {
+    private void setupButtonEvents() {
 
         exitButton.setOnMouseClicked(k -> {
-            timeline.stop();
+            UILauncher.getSimulationManager().stop();
+            UILauncher.saveSession();
+            renderLoop.stop();
             stage.close();
         });
 
         playAgainButton.setOnMouseClicked(k -> {
 
-            //resets character position and health
-            character.setLocation(new Location(UILauncher.getGameManager().getCenterXCord(), UILauncher.getGameManager().getGroundLevel(character)));
-            character.setIsDead(false);
-            character.setHealth(3);
-            character.setFacingRight(true);
-            character.getVelocity().setHorizontalVelocity(0);
-            character.getVelocity().setVerticalVelocity(0);
-            character.setScore(0);
-            UILauncher.getGameManager().setGameOver(false);
-            LevelManager levelManager = UILauncher.getLevelManager();
-            levelManager.loadLevel(levelManager.getCurrentLevel());
-            UILauncher.getFlaskManager().clearFlasks();
-            sound.playTheme();
-
-            //removes playAgainButton and starts timeline again
+            //resets character position and health on the game thread and continues the game
+            UILauncher.getSimulationManager().playAgain();
+
+            //removes playAgainButton, the game over screen is cleared once the next snapshot arrives
             root.getChildren().remove(playAgainButton);
-            timeline.play();
         });
     }
 
@@ -178,12 +264,40 @@ public class GraphicsRepainter extends Application {
      * @param stage is the stage the window will br created in
      */
     public void createWindow(Stage stage) {
-        this.root.getChildren().add(this.canvas);
+        Canvas[] canvases = this.canvasRenderer.getCanvases();
+        this.sceneGraphWorld = new SceneGraphWorld(this.atlas);
+        this.sceneGraphWorld.getGroup().setVisible(false);
+        this.root.getChildren().addAll(canvases[BACKGROUND_LAYER], canvases[STATIC_LAYER], this.sceneGraphWorld.getGroup(), canvases[ACTOR_LAYER], canvases[HUD_LAYER]);
+        this.canvasRenderer.setRenderScale(UILauncher.getRenderScale());
+        this.invalidateLayers();
+        if (UILauncher.getSoftwareRendering()) {
+            //the frames are shown in place of the canvases, which are left empty
+            this.framebufferRenderer = new FramebufferRenderer(this.WIDTH, this.HEIGHT, this.getLayerWidths());
+            for (Canvas canvas : canvases) {
+                canvas.setVisible(false);
+            }
+            this.root.getChildren().add(0, this.framebufferRenderer.getView());
+            this.setRenderer(this.framebufferRenderer);
+        }
+        this.fitToScreen();
         stage.setScene(this.scene);
         stage.setFullScreen(true);
         stage.show();
     }
 
+    /**
+     * Scales the world to the largest size that fits on the screen and centers it, the bars left over on either side
+     * are black
+     */
+    private void fitToScreen() {
+        Rectangle2D bounds = Screen.getPrimary().getBounds();
+        double scale = Math.min(bounds.getWidth() / WIDTH, bounds.getHeight() / HEIGHT);
+        this.root.getTransforms().add(new Scale(scale, scale));
+        this.root.setTranslateX((bounds.getWidth() - WIDTH * scale) / 2);
+        this.root.setTranslateY((bounds.getHeight() - HEIGHT * scale) / 2);
+        this.scene.setFill(Color.BLACK);
+    }
+
     /**
      * Allows the start method be initiated in  {@code UILauncher}
      *
@@ -202,369 +316,539 @@ public class GraphicsRepainter extends Application {
     }
 
     /**
-     * starts the timeline the game will run in
-     *
-     * @param character the player the user will play as
+     * starts drawing the game once per frame of the display. The game runs at a fixed tick, so each frame draws the
+     * actors part way between the last two ticks depending on how much of the next tick has passed
      */
-    public void startTimeline(Character character) {
-        this.timeline.setCycleCount(javafx.animation.Animation.INDEFINITE);
-
-        KeyFrame kf = new KeyFrame(Duration.millis(20), e -> {
-
-            GameManager gameManager = UILauncher.getGameManager();
-            BackgroundManager backgroundManager = UILauncher.getBackgroundManager();
-            InputListener inputListener = UILauncher.getInputListener();
-            LevelManager levelManager = UILauncher.getLevelManager();
-            AnimationManager animationManager = UILauncher.getAnimationManager();
-
-            //getting location and velocity of character
-            Velocity velocity = character.getVelocity();
-            Location oldLocation = character.getLocation();
-
-            //Will update velocity if the user is holding a movement key (w, a, s, d)
-
-            // check if game was won
-            if (levelManager.getPhonePiecesLeft() == 0 && oldLocation.getXcord() >= levelManager.getCurrentLevel().getEndCord()) {
-                character.setHoldingRight(true);
-                inputListener.updateVelocities();
-                Location newLocation = new Location(oldLocation.getXcord() + (int) velocity.getHorizontalVelocity(), oldLocation.getYcord() + (int) velocity.getVerticalVelocity());
-                character.setLocation(newLocation);
-                levelManager.setLevelComplete(true);
-            } else {
-                inputListener.updateVelocities();
-                Location newLocation = new Location(oldLocation.getXcord() + (int) velocity.getHorizontalVelocity(), oldLocation.getYcord() + (int) velocity.getVerticalVelocity());
-                //updates location of character based on the velocity
-                Direction direction = gameManager.runObstacleCollisionCheck(character, oldLocation, newLocation);
-                if (direction == null) {
-                    character.setLocation(newLocation);
-                    if (newLocation.getXcord() < 0) {
-                        newLocation.setXcord(0);
-                        character.setLocation(newLocation);
-                    } else if (newLocation.getXcord() >= gameManager.getCenterXCord()) {
-                        backgroundManager.updateBackgroundLocation();
-                    }
-                } else if (direction == Direction.ABOVE || direction == Direction.BELOW) {
-                    backgroundManager.updateBackgroundLocation();
+    public void startRenderLoop() {
+        this.renderLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                UILauncher.getSimulationManager().getSnapshots().read(snapshots);
+                WorldSnapshot previous = snapshots[0];
+                WorldSnapshot current = snapshots[1];
+                double alpha = getInterpolation(previous, current, now);
+                performanceOverlay.recordFrame(now);
+                if (UILauncher.getAdaptiveQuality() && qualityController.recordFrame(now)) {
+                    UILauncher.setRenderScale(qualityController.getRenderScale());
+                    parallaxEnabled = qualityController.isParallaxEnabled();
                 }
-            }
-
-            gameManager.runEnemyCheck(oldLocation);
-            gameManager.runGroundCheck(character, velocity);
-            gameManager.runCollectibleCheck();
-
-            // check if entity was hurt
-            if (gameManager.checkFlasks() || gameManager.wasCharacterHurt()) {
-                character.takeSinglePointOfDamage();
-                sound.takeDamageSound();
-                if (!character.getIsDead()) {
-                    character.setInvincible(true);
-                    if (character.isFacingRight()) {
-                        animationManager.setCharacterAnimation(new Animation(AnimationFrames.ET_HURT_RIGHT));
-                    } else {
-                        animationManager.setCharacterAnimation(new Animation(AnimationFrames.ET_HURT_LEFT));
-                    }
+                if (UILauncher.getRenderScale() != getRenderScale()) {
+                    setRenderScale(UILauncher.getRenderScale());
                 }
-            }
-
-            // increment animation ticks
-            animationManager.incrementAnimations();
-            animationManager.runGarbageCollector();
-            if (animationManager.getCharacterAnimation() == null) {
-                character.setInvincible(false);
-            }
 
-            // repaint view
-            this.repaintBackgroundAndObstacles(character);
-            this.repaintEntities(character);
-            this.repaintCollectibles(character);
-            this.repaintFlasks(character);
-
-            //sets the view if you win the game
-            if (levelManager.isLevelComplete() && character.getLocation().getXcord() >= levelManager.getCurrentLevel().getEndCord() + WIDTH / 2 + character.getRightEntitySprite().getWidth() / 2) {
-                Image youWonImage = new Image(SpriteURL.YOU_WON.getPath());
-                gc.drawImage(youWonImage, WIDTH / 2 - (int) youWonImage.getWidth() / 2, HEIGHT / 2 - (int) youWonImage.getHeight() / 2);
-                sound.playWin();
-                timeline.pause();
+                //nothing changed since the last frame, the performance overlay and loading screen are redrawn every frame
+                if (current == lastSnapshot && alpha == lastAlpha && !UILauncher.getPerformanceOverlay() && !loadingShown
+                        && !UILauncher.getBackgroundManager().isLoading()) {
+                    return;
+                }
+                lastSnapshot = current;
+                lastAlpha = alpha;
+                if (UILauncher.getRenderMode() != renderMode) {
+                    setRenderMode(UILauncher.getRenderMode());
+                }
+                long start = System.nanoTime();
+                render(previous, current, alpha);
+                lastRenderNanos = System.nanoTime() - start;
             }
-
-            // update score
-            score.setText("" + character.getScore());
-
-            this.runHealthCheck(character);
-
-            stage.show();
-        });
-
-        //starts timeline
-        timeline.getKeyFrames().add(kf);
-        timeline.play();
+        };
+        this.renderLoop.start();
     }
 
     /**
-     * Repaint background and entities
+     * Returns how far between the previous and current snapshot a frame is, where 0 draws the previous snapshot and
+     * 1 draws the current one. Frames are drawn a tick behind the game so there is always a tick to move towards
      *
-     * @param character {@code Character}
+     * @param previous the previous snapshot
+     * @param current  the current snapshot
+     * @param now      {@code System.nanoTime} of the frame
+     * @return amount to interpolate by, between 0 and 1
      */
-    public void repaintEntities(Character character) {
-        Location loc = character.getLocation();
-        GameManager gameManager = UILauncher.getGameManager();
-        AnimationManager animationManager = UILauncher.getAnimationManager();
+    private static double getInterpolation(WorldSnapshot previous, WorldSnapshot current, long now) {
+        if (previous.getTick() != current.getTick() - 1) {
+            return 1;
+        }
+        double alpha = (now - current.getTime()) / (double) SimulationManager.TICK_NANOS;
+        return Math.max(0, Math.min(1, alpha));
+    }
 
-        Animation characterAnimation = animationManager.getCharacterAnimation();
-        Image sprite = character.getRightEntitySprite();
+    /**
+     * Returns a coordinate part way between two ticks
+     *
+     * @param from  coordinate in the previous tick
+     * @param to    coordinate in the current tick
+     * @param alpha amount to interpolate by
+     * @return the interpolated coordinate
+     */
+    private static int interpolate(int from, int to, double alpha) {
+        if (Math.abs(to - from) > MAX_INTERPOLATED_DISTANCE) {
+            return to;
+        }
+        return (int) Math.round(from + (to - from) * alpha);
+    }
 
-        if (characterAnimation != null) {
-            sprite = characterAnimation.getSprite();
-        } else if (!character.isFacingRight()) {
-            sprite = character.getLeftEntitySprite();
+    /**
+     * Draws the game part way between two snapshots
+     *
+     * @param previous the previous snapshot
+     * @param snapshot the current snapshot
+     * @param alpha    amount to interpolate between them by
+     */
+    public void render(WorldSnapshot previous, WorldSnapshot snapshot, double alpha) {
+        //a new try started after the game over or win screen was shown
+        if ((this.gameOverShown && !snapshot.isDead()) || (this.wonShown && !snapshot.isWon())) {
+            this.gameOverShown = false;
+            this.wonShown = false;
+            this.invalidateLayers();
         }
 
-        //gets the level of the game
-        LevelManager levelManager = UILauncher.getLevelManager();
-        Level level = levelManager.getCurrentLevel();
-        if (loc.getXcord() < gameManager.getCenterXCord()) {
-            gc.drawImage(sprite, loc.getXcord(), loc.getYcord());
-        } else if (loc.getXcord() > level.getEndCord()) {
-            gc.drawImage(sprite, loc.getXcord() - level.getEndCord() + UILauncher.getGameManager().getCenterXCord(), loc.getYcord());
+        // repaint view, only the actor layer is cleared every frame
+        int characterX = interpolate(previous.getCharacterX(), snapshot.getCharacterX(), alpha);
+        camera.update(characterX, snapshot.getCenterXCord(), snapshot.getEndCord());
+        this.repaintBackground(snapshot);
+        if (this.renderMode == RenderMode.SCENE_GRAPH) {
+            this.updateSceneGraph(snapshot);
         } else {
-            gc.drawImage(sprite, WIDTH / 2 - character.getLeftEntitySprite().getWidth() / 2, loc.getYcord());
+            this.repaintStaticWorld(snapshot);
+        }
+        renderer.clearLayer(ACTOR_LAYER);
+        this.repaintActors(previous, snapshot, alpha);
+
+        //sets the view if you win the game
+        if (snapshot.isWon() && !this.wonShown) {
+            this.wonShown = true;
+            Image youWonImage = SpriteCache.getImage(SpriteURL.YOU_WON);
+            this.drawSprite(HUD_LAYER, OVERLAY_DEPTH, youWonImage, WIDTH / 2 - (int) youWonImage.getWidth() / 2, HEIGHT / 2 - (int) youWonImage.getHeight() / 2);
         }
 
-        //debug modes sets outline around hitboxes (for testing)
-        if (UILauncher.getDebugMode()) {
-            int height = (int) character.getRightEntitySprite().getHeight();
-            int width = (int) character.getRightEntitySprite().getWidth();
-            this.drawHitbox(character, loc, height, width, Color.GREEN);
+        this.runHealthCheck(snapshot);
+        this.repaintLoadingScreen();
+
+        if (UILauncher.getPerformanceOverlay()) {
+            performanceOverlay.draw(renderQueue, ACTOR_LAYER, PERFORMANCE_DEPTH, snapshot, UILauncher.getSimulationManager().getTickTimes(),
+                    WIDTH - PerformanceOverlay.WIDTH - 25, 125);
         }
 
-        //draws enemies
-        for (Enemy enemy : UILauncher.getEntityManager().getEnemyList()) {
+        // draws everything queued this frame, sorted so draws from the same texture are made together
+        renderQueue.flush(renderer);
+        if (UILauncher.getDebugMode()) {
+            this.repaintHitboxes(snapshot);
+        }
+        if (this.framebufferRenderer != null && renderer == this.framebufferRenderer) {
+            this.framebufferRenderer.present();
+        }
+    }
 
-            if (Math.abs(character.getLocation().getXcord() - enemy.getLocation().getXcord()) <= RENDER_RANGE) {
-                sprite = enemy.getRightEntitySprite();
-                if (animationManager.getEnemyDeathAnimation(enemy) != null) {
-                    sprite = animationManager.getEnemyDeathAnimation(enemy).getSprite();
-                } else if (!enemy.isFacingRight()) {
-                    sprite = enemy.getLeftEntitySprite();
-                }
+    /**
+     * Covers the HUD layer with the loading screen while the assets of a level are loading. Once they are loaded the
+     * HUD, game over and win screens are drawn again
+     */
+    private void repaintLoadingScreen() {
+        BackgroundManager backgroundManager = UILauncher.getBackgroundManager();
+        if (backgroundManager.isLoading()) {
+            this.loadingShown = true;
+            renderer.clearLayer(HUD_LAYER);
+            loadingScreen.draw(renderQueue, HUD_LAYER, LOADING_DEPTH, backgroundManager.getLoadingProgress(), WIDTH, HEIGHT);
+        } else if (this.loadingShown) {
+            this.loadingShown = false;
+            this.gameOverShown = false;
+            this.wonShown = false;
+            this.invalidateLayers();
+        }
+    }
 
-                if (loc.getXcord() < gameManager.getCenterXCord()) {
-                    gc.drawImage(sprite, enemy.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - levelManager.getCurrentLevel().getEndCord(), enemy.getLocation().getYcord());
-                } else if (loc.getXcord() < gameManager.getCenterXCord()) {
-                    gc.drawImage(sprite, enemy.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), enemy.getLocation().getYcord());
-                } else {
-                    gc.drawImage(sprite, enemy.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), enemy.getLocation().getYcord());
-                }
+    /**
+     * Draws the character, enemies, collectibles and flasks that are in view, each part way between where it was in
+     * the previous snapshot and where it is in the current one. In {@code SCENE_GRAPH} mode their nodes are moved
+     * instead
+     *
+     * @param previous the previous snapshot
+     * @param snapshot the current snapshot
+     * @param alpha    amount to interpolate between them by
+     */
+    public void repaintActors(WorldSnapshot previous, WorldSnapshot snapshot, double alpha) {
+        boolean sceneGraph = this.renderMode == RenderMode.SCENE_GRAPH;
+        if (sceneGraph) {
+            this.sceneGraphWorld.beginFrame();
+        }
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            Image sprite = snapshot.getSprite(i);
+            int x = snapshot.getSpriteX(i);
+            int y = snapshot.getSpriteY(i);
+            int previousIndex = previous.indexOfOwner(snapshot.getSpriteOwner(i), i);
+            if (previousIndex >= 0) {
+                x = interpolate(previous.getSpriteX(previousIndex), x, alpha);
+                y = interpolate(previous.getSpriteY(previousIndex), y, alpha);
             }
+            boolean visible = camera.isVisible(x, y, sprite.getWidth(), sprite.getHeight());
+            if (sceneGraph) {
+                this.sceneGraphWorld.placeActor(snapshot.getSpriteKind(i), snapshot.getSpriteOwner(i), sprite, x, y, snapshot.isSpriteMirrored(i), visible);
+            } else if (visible) {
+                this.drawSprite(ACTOR_LAYER, snapshot.getSpriteKind(i), sprite, camera.toScreenX(x), camera.toScreenY(y), snapshot.isSpriteMirrored(i));
+            }
+        }
+        if (sceneGraph) {
+            this.sceneGraphWorld.endFrame();
+        }
+    }
 
-
-            if (UILauncher.getDebugMode()) {
-                int height = (int) enemy.getRightEntitySprite().getHeight();
-                int width = (int) enemy.getRightEntitySprite().getWidth();
-                this.drawHitbox(character, loc, height, width, Color.RED);
+    /**
+     * Draws outlines around the hitboxes of everything in view (for testing). They are drawn on the actor layer after
+     * the render queue is flushed so they show up over the sprites, and the static layer doesn't have to be redrawn
+     *
+     * @param snapshot the snapshot to draw
+     */
+    public void repaintHitboxes(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getHitboxCount(); i++) {
+            int x = snapshot.getHitboxX(i);
+            int y = snapshot.getHitboxY(i);
+            int width = snapshot.getHitboxWidth(i);
+            int height = snapshot.getHitboxHeight(i);
+            if (camera.isVisible(x, y, width, height)) {
+                this.drawHitbox(new Location(x, y), height, width, snapshot.getHitboxColor(i));
             }
         }
     }
 
     /**
-     * draws the background, obstacles of the level
+     * Draws the parallax layers of the background, only when the camera has moved or the layers changed. Each layer
+     * is drawn at a depth of its own so the layers stay in order from back to front
      *
-     * @param character character the player is using
+     * @param snapshot the snapshot to draw
      */
-    public void repaintBackgroundAndObstacles(Character character) {
+    public void repaintBackground(WorldSnapshot snapshot) {
         BackgroundManager backgroundManager = UILauncher.getBackgroundManager();
-        LevelManager levelManager = UILauncher.getLevelManager();
-        GameManager gameManager = UILauncher.getGameManager();
-
-        Location backgroundLoc = backgroundManager.getBackgroundLocation();
-        gc.drawImage(backgroundManager.getBackgroundSprite(), backgroundLoc.getXcord(), backgroundLoc.getYcord());
+        List<ParallaxLayer> layers = snapshot.getBackgroundLayers();
+        //without parallax the background stays where it was, so it is only drawn again when the layers change
+        int offsetX = this.parallaxEnabled ? camera.getOffsetX() : this.lastBackgroundOffsetX;
+        if (layers == this.lastBackgroundLayers && offsetX == this.lastBackgroundOffsetX) {
+            return;
+        }
+        this.lastBackgroundLayers = layers;
+        this.lastBackgroundOffsetX = offsetX;
+
+        renderer.clearLayer(BACKGROUND_LAYER);
+        for (int depth = 0; depth < layers.size(); depth++) {
+            ParallaxLayer layer = layers.get(depth);
+            Image[] tiles = layer.getTiles();
+            for (int copy = 0; copy < backgroundManager.getCopies(layer); copy++) {
+                for (int tile = 0; tile < tiles.length; tile++) {
+                    int x = backgroundManager.getTileX(layer, offsetX, copy, tile);
+                    if (x != Integer.MIN_VALUE) {
+                        renderQueue.add(BACKGROUND_LAYER, depth, tiles[tile], x, 0);
+                    }
+                }
+            }
+        }
+    }
 
-        Location loc = character.getLocation();
+    /**
+     * Draws the static layer holding the finish line and obstacles of the level. The layer is drawn a tile past each
+     * edge of the view and slid along with the view, so it is only redrawn once the view has moved a full tile or
+     * the finish line or obstacles change
+     *
+     * @param snapshot the snapshot to draw
+     */
+    public void repaintStaticWorld(WorldSnapshot snapshot) {
+        int offsetX = camera.getOffsetX();
+        int tileOffsetX = Math.floorDiv(offsetX, TILE) * TILE;
+        renderer.setLayerOffset(STATIC_LAYER, offsetX - tileOffsetX - TILE);
+
+        boolean finishLineVisible = snapshot.isFinishLineVisible();
+        int state = 31 * (31 * snapshot.getObstaclesVersion() + snapshot.getLevelNum()) + (finishLineVisible ? 1 : 0);
+        if (tileOffsetX == this.lastStaticTile && state == this.lastStaticState) {
+            return;
+        }
+        this.lastStaticTile = tileOffsetX;
+        this.lastStaticState = state;
 
-        Image finishLineSprite;
+        //everything on this layer is drawn a tile to the right since the canvas starts a tile left of the view
+        int layerOffsetX = tileOffsetX + TILE;
+        renderer.clearLayer(STATIC_LAYER);
 
-        //following if's set the finish line sprite based off the current level. Default sprite is level-0 sprite
-        if (levelManager.getCurrentLevel().getLevelNum() == 1) {
-            finishLineSprite = new Image(SpriteURL.FINISHLINE_LEVEL_1.getPath());
-        } else if (levelManager.getCurrentLevel().getLevelNum() == 2) {
-            finishLineSprite = new Image(SpriteURL.FINISHLINE_LEVEL_2.getPath());
-        } else if (levelManager.getCurrentLevel().getLevelNum() == 3) {
-            finishLineSprite = new Image(SpriteURL.FINISHLINE_LEVEL_3.getPath());
-        } else {
-            finishLineSprite = new Image(SpriteURL.FINISHLINE_LEVEL_0.getPath());
+        if (finishLineVisible) {
+            this.drawSprite(STATIC_LAYER, FINISH_LINE_DEPTH, this.getFinishLineSprite(snapshot.getLevelNum()), snapshot.getEndCord() + 500 + layerOffsetX, 370);
         }
 
-        //draws finish line based off phone pieces collected and current level number
-        if (levelManager.isLevelComplete()) { //when the background stops and player keeps moving
-            gc.drawImage(finishLineSprite, (levelManager.getCurrentLevel().getEndCord() + 500) + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - levelManager.getCurrentLevel().getEndCord(), 370);
-        } else if (levelManager.getPhonePiecesLeft() == 0 && (levelManager.getCurrentLevel().getLevelNum() == 0 || levelManager.getCurrentLevel().getLevelNum() == 3)) { //this is used to make the finish line not randomly "pop" into the window
-            if (loc.getXcord() >= levelManager.getCurrentLevel().getEndCord() - 1200) {
-                gc.drawImage(finishLineSprite, (levelManager.getCurrentLevel().getEndCord() + 500) - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), 370);
-            }
-        } else if (levelManager.getPhonePiecesLeft() == 2 && levelManager.getCurrentLevel().getLevelNum() == 1) {   //collected 1 phone piece
-            if (loc.getXcord() >= levelManager.getCurrentLevel().getEndCord() - 1200) {
-                gc.drawImage(finishLineSprite, (levelManager.getCurrentLevel().getEndCord() + 500) - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), 370);
-            }
-        } else if (levelManager.getPhonePiecesLeft() == 1 && levelManager.getCurrentLevel().getLevelNum() == 2) {   //collected 2 phone pieces
-            if (loc.getXcord() >= levelManager.getCurrentLevel().getEndCord() - 1200) {
-                gc.drawImage(finishLineSprite, (levelManager.getCurrentLevel().getEndCord() + 500) - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), 370);
+        //drawing obstacles from the pre-rendered chunks, falling back to drawing them one by one while a chunk builds
+        this.staticGeometry.update(snapshot.getObstacles(), snapshot.getObstaclesVersion());
+        if (this.staticGeometry.hasGeometry()) {
+            int firstChunk = StaticGeometryCache.getChunkIndex(-layerOffsetX);
+            int lastChunk = StaticGeometryCache.getChunkIndex(-layerOffsetX + STATIC_WIDTH - 1);
+            for (int index = firstChunk; index <= lastChunk; index++) {
+                Image chunk = this.staticGeometry.getChunk(index);
+                if (chunk != null) {
+                    renderQueue.add(STATIC_LAYER, OBSTACLE_DEPTH, chunk, index * StaticGeometryCache.CHUNK_WIDTH + layerOffsetX, this.staticGeometry.getMinY());
+                } else {
+                    this.repaintObstacles(snapshot.getObstacleIndex(), index, layerOffsetX);
+                    //the chunk is drawn over the fallback on the next redraw once it is built
+                    this.lastStaticState = ~state;
+                }
             }
+
+            //builds the chunks on either side before the player gets to them
+            this.staticGeometry.prefetch(firstChunk - 1);
+            this.staticGeometry.prefetch(lastChunk + 1);
         }
+    }
 
-        //drawing obstacles
-        for (Obstacle obstacle : UILauncher.getObstacleManager().getObstacleList()) {
-
-            if (Math.abs(loc.getXcord() - obstacle.getLocation().getXcord()) <= RENDER_RANGE) {
-
-                if (obstacle instanceof Platform) {
-                    Platform platform = (Platform) obstacle;
-                    int endCord = levelManager.getCurrentLevel().getEndCord();
-                    if (loc.getXcord() > endCord) {
-                        gc.drawImage(new Image(SpriteURL.SINGLE_PLATFORM.getPath()), platform.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - endCord, platform.getLocation().getYcord());
-
-                        if (platform.getLength() == 1) {  //single platform of length 1
-                            gc.drawImage(new Image(SpriteURL.SINGLE_PLATFORM.getPath()), platform.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - endCord, platform.getLocation().getYcord());
-                        } else if (platform.getLength() > 1) {
-                            for (int i = 0; i <= platform.getLength(); i++) {
-                                if (i == 0) { //left end brick
-                                    gc.drawImage(new Image(SpriteURL.LEFT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - endCord, platform.getLocation().getYcord());
-                                } else if (i < platform.getLength() - 1) { //middle bricks
-                                    gc.drawImage(new Image(SpriteURL.REGULAR_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - endCord, platform.getLocation().getYcord());
-                                } else if (i == platform.getLength() - 1) { //right end bricks
-                                    gc.drawImage(new Image(SpriteURL.RIGHT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - endCord, platform.getLocation().getYcord());
-                                }
-                            }
-                        }
-                    } else if (loc.getXcord() < gameManager.getCenterXCord()) {
-                        if (platform.getLength() == 1) {  //single platform of length 1
-                            gc.drawImage(new Image(SpriteURL.SINGLE_PLATFORM.getPath()), platform.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                        } else if (platform.getLength() > 1) {
-                            for (int i = 0; i <= platform.getLength(); i++) {
-                                if (i == 0)  //left end brick
-                                {
-                                    gc.drawImage(new Image(SpriteURL.LEFT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                } else if (i < platform.getLength() - 1)  //middle bricks
-                                {
-                                    gc.drawImage(new Image(SpriteURL.REGULAR_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                } else if (i == platform.getLength() - 1)  //right end bricks
-                                {
-                                    gc.drawImage(new Image(SpriteURL.RIGHT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                }
-                            }
-                        }
-                    } else {
-                        if (platform.getLength() == 1) {  //single platform of length 1
-                            gc.drawImage(new Image(SpriteURL.SINGLE_PLATFORM.getPath()), platform.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                        } else if (platform.getLength() > 1) {
-                            for (int i = 0; i <= platform.getLength(); i++) {
-                                if (i == 0)  //left end brick
-                                {
-                                    gc.drawImage(new Image(SpriteURL.LEFT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                } else if (i < platform.getLength() - 1)  //middle bricks
-                                {
-                                    gc.drawImage(new Image(SpriteURL.REGULAR_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                } else if (i == platform.getLength() - 1)  //right end bricks
-                                {
-                                    gc.drawImage(new Image(SpriteURL.RIGHT_END_PLATFORM.getPath()), (60 * i) + platform.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), platform.getLocation().getYcord());
-                                }
-                            }
-                        }
-                    }
+    /**
+     * Moves the nodes of the level with the camera, making them again when the obstacles of the level change
+     *
+     * @param snapshot the snapshot to draw
+     */
+    private void updateSceneGraph(WorldSnapshot snapshot) {
+        this.sceneGraphWorld.updateStatic(snapshot.getObstacles(), snapshot.getObstaclesVersion(), this.getFinishLineSprite(snapshot.getLevelNum()),
+                snapshot.getEndCord() + 500, 370, snapshot.isFinishLineVisible());
+        this.sceneGraphWorld.setCamera(camera);
+    }
 
-                    if (UILauncher.getDebugMode()) {
-                        int height = 30;
-                        int width = 60 * platform.getLength();
-                        this.drawHitbox(character, loc, height, width, Color.ORANGE);
+    /**
+     * Returns the finish line sprite of a level. Default sprite is level-0 sprite
+     *
+     * @param levelNum number of the level
+     * @return image of the finish line
+     */
+    private Image getFinishLineSprite(int levelNum) {
+        Image finishLineSprite;
+        if (levelNum == 1) {
+            finishLineSprite = SpriteCache.getImage(SpriteURL.FINISHLINE_LEVEL_1);
+        } else if (levelNum == 2) {
+            finishLineSprite = SpriteCache.getImage(SpriteURL.FINISHLINE_LEVEL_2);
+        } else if (levelNum == 3) {
+            finishLineSprite = SpriteCache.getImage(SpriteURL.FINISHLINE_LEVEL_3);
+        } else {
+            finishLineSprite = SpriteCache.getImage(SpriteURL.FINISHLINE_LEVEL_0);
+        }
+        if (finishLineSprite == null) {
+            finishLineSprite = SpriteCache.getImage(SpriteURL.FINISHLINE_LEVEL_0);
+        }
+        return finishLineSprite;
+    }
 
+    /**
+     * Draws the obstacles overlapping a chunk one by one, used while the chunk is still being built
+     *
+     * @param obstacles  obstacles of the level sorted by x coordinate
+     * @param chunkIndex index of the chunk
+     * @param offsetX    amount to add to an x coordinate of the level to get its x coordinate on the static layer
+     */
+    private void repaintObstacles(SortedIndex<Obstacle> obstacles, int chunkIndex, int offsetX) {
+        int chunkX = chunkIndex * StaticGeometryCache.CHUNK_WIDTH;
+        this.chunkObstacles.clear();
+        for (Obstacle obstacle : obstacles.query(chunkX, chunkX + StaticGeometryCache.CHUNK_WIDTH, this.chunkObstacles)) {
+            if (obstacle instanceof Platform) {
+                Platform platform = (Platform) obstacle;
+                renderQueue.add(STATIC_LAYER, OBSTACLE_DEPTH, PlatformStrips.getStrip(platform.getLength()), platform.getLocation().getXcord() + offsetX, platform.getLocation().getYcord());
+            } else {
+                //tiled across the hitbox like StaticGeometryCache does, so the chunk looks the same once it is built
+                Hitbox hitbox = obstacle.getHitbox();
+                Image sprite = SpriteCache.getImage(SpriteURL.GENERIC_OBSTACLE);
+                int left = hitbox.getTopLeftCorner().getXcord() + offsetX;
+                int top = hitbox.getTopLeftCorner().getYcord();
+                for (int x = 0; x < hitbox.getWidth(); x += (int) sprite.getWidth()) {
+                    for (int y = 0; y < hitbox.getHeight(); y += (int) sprite.getHeight()) {
+                        renderQueue.add(STATIC_LAYER, OBSTACLE_DEPTH, sprite, left + x, top + y);
                     }
                 }
             }
         }
+    }
 
+    /**
+     * Forces every layer to be redrawn on the next tick
+     */
+    private void invalidateLayers() {
+        this.lastBackgroundLayers = null;
+        this.lastStaticState = -1;
+        this.lastHealth = -1;
+        this.lastScore = -1;
+        this.lastPhonePiecesLeft = -1;
+        renderer.clearLayer(HUD_LAYER);
     }
 
     /**
-     * repaints the collectibles of the level
+     * Check if character is dead. If not dead, draw the HUD when it changes. If dead, show the game over screen and a
+     * playAgainButton that will reset the game if the user clicks it
      *
-     * @param character Character variable
+     * @param snapshot the snapshot to draw
      */
-    public void repaintCollectibles(Character character) {
-        LevelManager levelManager = UILauncher.getLevelManager();
-        GameManager gameManager = UILauncher.getGameManager();
-        Location loc = character.getLocation();
+    public void runHealthCheck(WorldSnapshot snapshot) {
+        if (!snapshot.isDead()) {
+            //hearts, score and phone pieces are only redrawn when one of them changes
+            if (snapshot.getHealth() != this.lastHealth || snapshot.getScore() != this.lastScore || snapshot.getPhonePiecesLeft() != this.lastPhonePiecesLeft) {
+                this.lastHealth = snapshot.getHealth();
+                this.lastScore = snapshot.getScore();
+                this.lastPhonePiecesLeft = snapshot.getPhonePiecesLeft();
+                this.repaintHud(snapshot);
+            }
+        } else if (!this.gameOverShown) {
+            this.gameOverShown = true;
+            renderer.clearLayer(HUD_LAYER);
+            this.drawSprite(HUD_LAYER, OVERLAY_DEPTH, GAMEOVER, WIDTH / 2 - GAMEOVER.getWidth() / 2, HEIGHT / 2 - GAMEOVER.getHeight() / 2);
+            //there is no button when drawing without the window
+            if (playAgainButton != null && !root.getChildren().contains(playAgainButton)) {
+                root.getChildren().add(playAgainButton);
+            }
+        }
+    }
 
-        //drawing collectibles
-        for (Collectible collectible : UILauncher.getCollectiblesManager().getCollectiblesList()) {
+    /**
+     * Draws the hearts, the score and the amount of phone pieces collected
+     *
+     * @param snapshot the snapshot to draw
+     */
+    private void repaintHud(WorldSnapshot snapshot) {
+        renderer.clearLayer(HUD_LAYER);
+        int x = 25;
+        for (int i = 0; i < snapshot.getHealth(); i++) {
+            this.drawSprite(HUD_LAYER, HEART_DEPTH, SpriteCache.getImage(SpriteURL.HEART), x, 25);
+            x += 36 + 25;
+        }
 
-            if (Math.abs(loc.getXcord() - collectible.getLocation().getXcord()) <= RENDER_RANGE) {
+        hudFont.drawNumber(renderQueue, HUD_LAYER, TEXT_DEPTH, snapshot.getScore(), WIDTH / 2, 100);
 
-                if (loc.getXcord() > levelManager.getCurrentLevel().getEndCord()) {
-                    gc.drawImage(collectible.getTheImage(), collectible.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2) - levelManager.getCurrentLevel().getEndCord(), collectible.getLocation().getYcord());
-                } else if (loc.getXcord() <= gameManager.getCenterXCord()) {
-                    gc.drawImage(collectible.getTheImage(), collectible.getLocation().getXcord() - gameManager.getCenterXCord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), collectible.getLocation().getYcord());
-                } else {
-                    gc.drawImage(collectible.getTheImage(), collectible.getLocation().getXcord() - loc.getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), collectible.getLocation().getYcord());
-                }
+        Image phone = SpriteCache.getImage(SpriteURL.PHONE);
+        this.drawSprite(HUD_LAYER, HEART_DEPTH, phone, 25, 95);
+        int phonePieces = PhonePieceType.values().length;
+        double textX = 25 + phone.getWidth() + 10;
+        double textY = 95 + (phone.getHeight() - hudFont.getHeight()) / 2;
+        textX = hudFont.drawNumber(renderQueue, HUD_LAYER, TEXT_DEPTH, phonePieces - snapshot.getPhonePiecesLeft(), textX, textY);
+        textX = hudFont.drawChar(renderQueue, HUD_LAYER, TEXT_DEPTH, '/', textX, textY);
+        hudFont.drawNumber(renderQueue, HUD_LAYER, TEXT_DEPTH, phonePieces, textX, textY);
+    }
 
-                if (UILauncher.getDebugMode()) {
-                    this.drawHitbox(character, collectible.getLocation(), (int) collectible.getTheImage().getHeight(), (int) collectible.getTheImage().getWidth(), Color.YELLOW);
-                }
-            }
+    /**
+     * Queues a draw of a sprite from its atlas page, or on its own if it is not part of the atlas
+     *
+     * @param layer  layer to draw the sprite on
+     * @param depth  order of the draw within the layer
+     * @param sprite image of the sprite
+     * @param x      x coordinate to draw the sprite at
+     * @param y      y coordinate to draw the sprite at
+     */
+    private void drawSprite(int layer, int depth, Image sprite, double x, double y) {
+        this.drawSprite(layer, depth, sprite, x, y, false);
+    }
 
+    /**
+     * Queues a draw of a sprite from its atlas page, or on its own if it is not part of the atlas. A mirrored sprite
+     * is drawn with a negative width from its right edge, so facing left doesn't need an image of its own
+     *
+     * @param layer    layer to draw the sprite on
+     * @param depth    order of the draw within the layer
+     * @param sprite   image of the sprite
+     * @param x        x coordinate to draw the sprite at
+     * @param y        y coordinate to draw the sprite at
+     * @param mirrored true to flip the sprite horizontally
+     */
+    private void drawSprite(int layer, int depth, Image sprite, double x, double y, boolean mirrored) {
+        AtlasRegion region = this.atlas.getRegion(sprite);
+        if (region != null) {
+            int width = region.getWidth();
+            renderQueue.add(layer, depth, region.getPage(), region.getX(), region.getY(), width, region.getHeight(),
+                    mirrored ? x + width : x, y, mirrored ? -width : width, region.getHeight());
+        } else if (mirrored) {
+            int width = (int) sprite.getWidth();
+            int height = (int) sprite.getHeight();
+            renderQueue.add(layer, depth, sprite, 0, 0, width, height, x + width, y, -width, height);
+        } else {
+            renderQueue.add(layer, depth, sprite, x, y);
         }
     }
 
-    public void repaintFlasks(Character character) {
-        for (Flask flask : UILauncher.getFlaskManager().getFlaskList()) {
-            gc.drawImage(flask.getSprite(), flask.getLocation().getXcord() - character.getLocation().getXcord() + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), flask.getLocation().getYcord());
+    /**
+     * Draws the game with another renderer from now on, e.g. to draw it without a display. Every layer is redrawn on
+     * the next frame, including the game over and win screens
+     *
+     * @param renderer the renderer to draw with
+     */
+    public void setRenderer(Renderer renderer) {
+        this.renderer = renderer;
+        if (this.atlas == null) {
+            this.atlas = TextureAtlas.getShared();
         }
+        this.gameOverShown = false;
+        this.wonShown = false;
+        this.invalidateLayers();
     }
 
     /**
-     * Check if character is dead. If not dead, draw hearts and continue playing. If dead pause timeline and sets a playAgainButton on screen that will
-     * reset the game if the user clicks it
+     * Returns the width of every layer, the static layer is wider than the screen so it can be slid under it
      *
-     * @param character {@code Character}
-     */
-    public void runHealthCheck(Character character) {
-        if (!character.getIsDead()) {
-            int x = 25;
-            for (int i = 0; i < character.getHealth(); i++) {
-                this.gc.drawImage(new Image("/images/sprites/heart.png"), x, 25);
-                x += 36 + 25;
-            }
-        } else {
-            gc.drawImage(GAMEOVER, WIDTH / 2 - GAMEOVER.getWidth() / 2, HEIGHT / 2 - GAMEOVER.getHeight() / 2);
-            sound.playETDeath();
-            sound.stopTheme();
-            root.getChildren().add(playAgainButton);
-            timeline.pause();
-            UILauncher.getGameManager().setGameOver(true);
+     * @return widths of the layers, indexed by layer
+     */
+    public int[] getLayerWidths() {
+        return new int[]{this.WIDTH, this.STATIC_WIDTH, this.WIDTH, this.WIDTH};
+    }
+
+    public Renderer getRenderer() {
+        return this.renderer;
+    }
 
+    /**
+     * Changes how the level is drawn. The scene graph can only be used once the window is made
+     *
+     * @param renderMode how the level should be drawn
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        if (renderMode == RenderMode.SCENE_GRAPH && this.sceneGraphWorld == null) {
+            throw new IllegalStateException("The scene graph is only made with the window");
         }
+        this.renderMode = renderMode;
+        if (this.sceneGraphWorld != null) {
+            this.sceneGraphWorld.getGroup().setVisible(renderMode == RenderMode.SCENE_GRAPH);
+        }
+        //the static layer is empty while the scene graph is showing, and drawn again when going back
+        renderer.clearLayer(STATIC_LAYER);
+        this.invalidateLayers();
+    }
+
+    public RenderMode getRenderMode() {
+        return this.renderMode;
     }
 
     /**
-     * Draws hitbox using given location, height, and width
+     * Changes how many pixels the canvases of the window have per unit of the world. Every layer is redrawn on the
+     * next frame, even if the game is paused
      *
-     * @param character The character object of the game
-     * @param loc       Top left corner {@code Location} of {@code Hitbox}
-     * @param height    Height of {@code Hitbox}
-     * @param width     Width of {@code Hitbox}
-     * @param color     The color of the hitbox to be drawn
+     * @param renderScale pixels per unit of the world, e.g. 0.75 to fill just over half as many pixels
      */
-    public void drawHitbox(Character character, Location loc, int height, int width, Color color) {
-        loc = new Location(loc.getXcord() + (-character.getLocation().getXcord()) + (this.WIDTH / 2 - (int) character.getRightEntitySprite().getWidth() / 2), loc.getYcord());
-        gc.setStroke(color);
-        gc.setLineWidth(2);
+    public void setRenderScale(double renderScale) {
+        this.canvasRenderer.setRenderScale(renderScale);
+        this.gameOverShown = false;
+        this.wonShown = false;
+        this.lastSnapshot = null;
+        this.invalidateLayers();
+    }
 
-        gc.strokeLine(loc.getXcord(), loc.getYcord(), loc.getXcord(), loc.getYcord() + height);
+    public double getRenderScale() {
+        return this.canvasRenderer.getRenderScale();
+    }
 
-        gc.strokeLine(loc.getXcord(), loc.getYcord() + height, loc.getXcord() + width, loc.getYcord() + height);
+    /**
+     * @return nanoseconds the last frame took to prepare and queue, not counting JavaFX drawing it
+     */
+    public long getLastRenderNanos() {
+        return this.lastRenderNanos;
+    }
 
-        gc.strokeLine(loc.getXcord() + width, loc.getYcord() + height, loc.getXcord() + width, loc.getYcord());
+    /**
+     * @return queue the draws of each tick are made through
+     */
+    public RenderQueue getRenderQueue() {
+        return this.renderQueue;
+    }
 
-        gc.strokeLine(loc.getXcord() + width, loc.getYcord(), loc.getXcord(), loc.getYcord());
+    /**
+     * Draws hitbox using given location, height, and width
+     *
+     * @param loc    Top left corner {@code Location} of {@code Hitbox} in the level
+     * @param height Height of {@code Hitbox}
+     * @param width  Width of {@code Hitbox}
+     * @param color  The color of the hitbox to be drawn
+     */
+    public void drawHitbox(Location loc, int height, int width, Color color) {
+        renderer.strokeRect(ACTOR_LAYER, color, 2, camera.toScreenX(loc.getXcord()), camera.toScreenY(loc.getYcord()), width, height);
     }
 
 }
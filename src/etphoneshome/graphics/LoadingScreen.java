@@ -0,0 +1,75 @@
+package etphoneshome.graphics;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.Image;
+
+/**
+ * This class draws the screen shown while the assets of a level are loading, a dark cover over the whole screen with
+ * a bar that fills up as the assets are loaded. Everything is drawn through the render queue from single pixel images
+ * made up front.
+ */
+public class LoadingScreen {
+
+    /**
+     * size of the bar and the width of its border
+     */
+    private static final int BAR_WIDTH = 600, BAR_HEIGHT = 24, BORDER = 3;
+
+    /**
+     * text above the bar, followed by the percentage loaded
+     */
+    private static final String TEXT = "Loading ";
+    private static final char PERCENT = '%';
+
+    /**
+     * font of the text above the bar, with a glyph for every character the screen draws
+     */
+    private final BitmapFont font = new BitmapFont("Arial", 28, 0xFFFFFFFF, "0123456789" + TEXT + PERCENT);
+
+    /**
+     * single pixel images the cover and bar are stretched from
+     */
+    private final Image cover = PerformanceOverlay.solid(0xFF101018);
+    private final Image border = PerformanceOverlay.solid(0xFFFFFFFF);
+    private final Image fill = PerformanceOverlay.solid(0xFF40C040);
+
+    /**
+     * Queues the draws of the loading screen
+     *
+     * @param queue    queue to add the draws to
+     * @param layer    layer to draw on
+     * @param depth    order of the cover within the layer, the bar and text are drawn above it
+     * @param progress fraction of the assets that are loaded
+     * @param width    width of the screen
+     * @param height   height of the screen
+     */
+    public void draw(RenderQueue queue, int layer, int depth, double progress, int width, int height) {
+        queue.add(layer, depth, this.cover, 0, 0, 1, 1, 0, 0, width, height);
+
+        double x = (width - BAR_WIDTH) / 2.0;
+        double y = (height - BAR_HEIGHT) / 2.0;
+        queue.add(layer, depth + 1, this.border, 0, 0, 1, 1, x - BORDER, y - BORDER, BAR_WIDTH + 2 * BORDER, BAR_HEIGHT + 2 * BORDER);
+        queue.add(layer, depth + 2, this.cover, 0, 0, 1, 1, x, y, BAR_WIDTH, BAR_HEIGHT);
+        queue.add(layer, depth + 3, this.fill, 0, 0, 1, 1, x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+
+        double textY = y - BORDER - 10 - this.font.getHeight();
+        double textX = this.font.drawText(queue, layer, depth + 1, TEXT, x, textY);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (progress * 100), textX, textY);
+        this.font.drawChar(queue, layer, depth + 1, PERCENT, textX, textY);
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        new JFXPanel(); //this is needed to make images without opening the window
+        LoadingScreen loadingScreen = new LoadingScreen();
+        RenderQueue queue = new RenderQueue(64);
+        RecordingRenderer recordingRenderer = new RecordingRenderer(64);
+        //every percentage is drawn, so a missing glyph throws here instead of in the game
+        for (int percent = 0; percent <= 100; percent++) {
+            recordingRenderer.clear();
+            loadingScreen.draw(queue, 0, 0, percent / 100.0, 1920, 1080);
+            queue.flush(recordingRenderer);
+        }
+        System.out.println("Testing draws at 100%, four boxes and twelve glyphs. Should be 16: " + recordingRenderer.count(RecordingRenderer.DRAW_IMAGE));
+    }
+}
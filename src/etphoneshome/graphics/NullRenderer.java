@@ -0,0 +1,27 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * This class drops every draw. Drawing the game with it times everything the repaint does before the draws reach
+ * the screen, e.g. culling, interpolating and sorting the render queue.
+ */
+public class NullRenderer implements Renderer {
+
+    @Override
+    public void clearLayer(int layer) {
+    }
+
+    @Override
+    public void drawImage(int layer, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight) {
+    }
+
+    @Override
+    public void strokeRect(int layer, Color color, double lineWidth, double x, double y, double width, double height) {
+    }
+
+    @Override
+    public void setLayerOffset(int layer, double offsetX) {
+    }
+}
@@ -0,0 +1,119 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * This class is one layer of a parallax background. The layer scrolls by its scroll factor times the distance the
+ * camera has scrolled, so far away layers have a small factor and move slower than the level. The image of the layer
+ * repeats forever and is cut into tiles {@code TILE_WIDTH} pixels wide so only the tiles in view are drawn. The tiles
+ * are kept by {@code AssetManager}, tied to the levels using the layer.
+ */
+public class ParallaxLayer {
+
+    /**
+     * width of the tiles a layer image is cut into
+     */
+    public static final int TILE_WIDTH = 480;
+
+    /**
+     * path of the image of the layer and how fast it scrolls compared to the level
+     */
+    private final String path;
+    private final double scrollFactor;
+
+    /**
+     * width of the layer image, read the first time it is needed
+     */
+    private int width = -1;
+
+    /**
+     * Constructor that sets the image and scroll factor of the layer
+     *
+     * @param path         path of the image of the layer
+     * @param scrollFactor how fast the layer scrolls compared to the level, 0 stays still and 1 moves with the level
+     */
+    public ParallaxLayer(String path, double scrollFactor) {
+        this.path = path;
+        this.scrollFactor = scrollFactor;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public double getScrollFactor() {
+        return this.scrollFactor;
+    }
+
+    /**
+     * Returns the x coordinate on screen the layer image starts at for the given camera position. The result is
+     * computed from the camera alone, so the layer never drifts from the level
+     *
+     * @param cameraOffsetX amount the camera adds to a level coordinate to get its screen coordinate
+     * @return x coordinate of the first copy of the image that reaches into the view, zero or less
+     */
+    public int getStartX(int cameraOffsetX) {
+        int width = this.getWidth();
+        return Math.floorMod((int) Math.round(cameraOffsetX * this.scrollFactor), width) - width;
+    }
+
+    /**
+     * Returns the width of the layer image
+     *
+     * @return width of the image
+     */
+    public int getWidth() {
+        if (this.width < 0) {
+            Image[] tiles = this.getTiles();
+            this.width = tiles.length == 0 ? 0 : (tiles.length - 1) * TILE_WIDTH + (int) tiles[tiles.length - 1].getWidth();
+        }
+        return this.width;
+    }
+
+    /**
+     * Returns the tiles of the layer image, cutting the image into tiles if they aren't in memory
+     *
+     * @return tiles of the image from left to right, the last one may be narrower than {@code TILE_WIDTH}
+     */
+    public Image[] getTiles() {
+        return UILauncher.getAssetManager().get(this.path, () -> cut(SpriteCache.decode(this.path)));
+    }
+
+    /**
+     * Keeps the tiles of the layer image in memory for as long as an owner needs them, cutting the image into tiles
+     * if they aren't in memory
+     *
+     * @param owner the owner that needs the tiles, e.g. a level
+     */
+    public void acquire(Object owner) {
+        UILauncher.getAssetManager().acquire(this.path, owner, () -> cut(SpriteCache.decode(this.path)));
+    }
+
+    /**
+     * @return true if the tiles of the layer image are in memory, so getting them won't decode anything
+     */
+    public boolean isLoaded() {
+        return UILauncher.getAssetManager().isResident(this.path);
+    }
+
+    /**
+     * Cuts an image into tiles {@code TILE_WIDTH} pixels wide
+     *
+     * @param image the image to cut
+     * @return tiles of the image from left to right
+     */
+    private static Image[] cut(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        Image[] tiles = new Image[(width + TILE_WIDTH - 1) / TILE_WIDTH];
+        for (int i = 0; i < tiles.length; i++) {
+            int tileWidth = Math.min(TILE_WIDTH, width - i * TILE_WIDTH);
+            WritableImage tile = new WritableImage(tileWidth, height);
+            tile.getPixelWriter().setPixels(0, 0, tileWidth, height, image.getPixelReader(), i * TILE_WIDTH, 0);
+            tiles[i] = tile;
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,172 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import etphoneshome.managers.AssetManager;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * This class draws what the game is spending its time on, over the top of the game. It shows a graph of the last
+ * {@code GRAPH_FRAMES} frame times, the median, 99th percentile and longest tick time, the amount of enemies and
+ * collectibles, the draws of the last frame, the images decoded since the last frame, the heap in use and the bytes of
+ * the assets kept by {@code AssetManager}.
+ * <p>
+ * Everything is drawn through the render queue from a glyph strip and single pixel images made up front, and every
+ * number is kept in a preallocated {@code TimingHistory}, so drawing the overlay makes no garbage of its own.
+ */
+public class PerformanceOverlay {
+
+    /**
+     * size of the overlay
+     */
+    public static final int WIDTH = 420, HEIGHT = 270;
+
+    /**
+     * amount of frames in the graph, and the size of the graph. A bar as tall as the graph is {@code GRAPH_NANOS}
+     */
+    private static final int GRAPH_FRAMES = 120;
+    private static final int BAR_WIDTH = 3, GRAPH_HEIGHT = 80;
+    private static final long GRAPH_NANOS = 50000000L;
+
+    /**
+     * frame times over these are drawn yellow and red, the time of a frame at 60 and 30 frames a second
+     */
+    private static final long SLOW_FRAME_NANOS = 16700000L, DROPPED_FRAME_NANOS = 33400000L;
+
+    private static final int PADDING = 10;
+
+    /**
+     * font of the text of the overlay
+     */
+    private final BitmapFont font = new BitmapFont("Monospaced", 16, 0xFFFFFFFF,
+            "0123456789/ .:abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+    /**
+     * single pixel images the background and bars are stretched from
+     */
+    private final Image background = solid(0xB0000000);
+    private final Image fastBar = solid(0xFF40C040);
+    private final Image slowBar = solid(0xFFE0C040);
+    private final Image droppedBar = solid(0xFFE04040);
+
+    /**
+     * time between the last frames, and the {@code System.nanoTime} of the last one
+     */
+    private final TimingHistory frameTimes = new TimingHistory(GRAPH_FRAMES);
+    private long lastFrame = 0;
+
+    /**
+     * images decoded by {@code SpriteCache} when the overlay was last drawn
+     */
+    private long lastMisses = SpriteCache.getMisses();
+
+    /**
+     * Records the start of a frame, must be called every frame for the graph to be right
+     *
+     * @param now {@code System.nanoTime} of the frame
+     */
+    public void recordFrame(long now) {
+        if (this.lastFrame != 0) {
+            this.frameTimes.add(now - this.lastFrame);
+        }
+        this.lastFrame = now;
+    }
+
+    /**
+     * Queues the draws of the overlay
+     *
+     * @param queue     queue to add the draws to
+     * @param layer     layer to draw on
+     * @param depth     order of the background within the layer, the bars and text are drawn one depth higher
+     * @param snapshot  snapshot being drawn
+     * @param tickTimes how long the last ticks took
+     * @param x         x coordinate of the left of the overlay
+     * @param y         y coordinate of the top of the overlay
+     */
+    public void draw(RenderQueue queue, int layer, int depth, WorldSnapshot snapshot, TimingHistory tickTimes, double x, double y) {
+        queue.add(layer, depth, this.background, 0, 0, 1, 1, x, y, WIDTH, HEIGHT);
+        int lineHeight = this.font.getHeight();
+        double left = x + PADDING;
+        double line = y + PADDING;
+
+        //frame time graph, newest frame on the right
+        int frames = this.frameTimes.size();
+        double textX = this.font.drawText(queue, layer, depth + 1, "frame ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, frames == 0 ? 0 : (int) (this.frameTimes.get(frames - 1) / 1000), textX, line);
+        this.font.drawText(queue, layer, depth + 1, " us", textX, line);
+        line += lineHeight;
+        double graphBottom = line + GRAPH_HEIGHT;
+        for (int i = 0; i < frames; i++) {
+            long nanos = this.frameTimes.get(i);
+            double height = Math.max(1, Math.min(GRAPH_HEIGHT, nanos * GRAPH_HEIGHT / GRAPH_NANOS));
+            Image bar = nanos > DROPPED_FRAME_NANOS ? this.droppedBar : nanos > SLOW_FRAME_NANOS ? this.slowBar : this.fastBar;
+            double barX = left + (GRAPH_FRAMES - frames + i) * BAR_WIDTH;
+            queue.add(layer, depth + 1, bar, 0, 0, 1, 1, barX, graphBottom - height, BAR_WIDTH - 1, height);
+        }
+        line = graphBottom + PADDING;
+
+        textX = this.font.drawText(queue, layer, depth + 1, "tick p50 ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (tickTimes.getPercentile(0.5) / 1000), textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " p99 ", textX, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (tickTimes.getPercentile(0.99) / 1000), textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " max ", textX, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (tickTimes.getMax() / 1000), textX, line);
+        this.font.drawText(queue, layer, depth + 1, " us", textX, line);
+        line += lineHeight;
+
+        int enemies = 0;
+        int collectibles = 0;
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            if (snapshot.getSpriteKind(i) == WorldSnapshot.ENEMY) {
+                enemies++;
+            } else if (snapshot.getSpriteKind(i) == WorldSnapshot.COLLECTIBLE) {
+                collectibles++;
+            }
+        }
+        textX = this.font.drawText(queue, layer, depth + 1, "enemies ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, enemies, textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " collectibles ", textX, line);
+        this.font.drawNumber(queue, layer, depth + 1, collectibles, textX, line);
+        line += lineHeight;
+
+        //the draws of this frame aren't flushed yet, so these are the draws of the last frame
+        textX = this.font.drawText(queue, layer, depth + 1, "draws ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, queue.getLastDrawCalls(), textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " texture switches ", textX, line);
+        this.font.drawNumber(queue, layer, depth + 1, queue.getLastTextureSwitches(), textX, line);
+        line += lineHeight;
+
+        long misses = SpriteCache.getMisses();
+        textX = this.font.drawText(queue, layer, depth + 1, "images decoded ", left, line);
+        this.font.drawNumber(queue, layer, depth + 1, (int) (misses - this.lastMisses), textX, line);
+        this.lastMisses = misses;
+        line += lineHeight;
+
+        Runtime runtime = Runtime.getRuntime();
+        textX = this.font.drawText(queue, layer, depth + 1, "heap ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) ((runtime.totalMemory() - runtime.freeMemory()) >> 20), textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " / ", textX, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (runtime.maxMemory() >> 20), textX, line);
+        this.font.drawText(queue, layer, depth + 1, " MB", textX, line);
+        line += lineHeight;
+
+        AssetManager assetManager = UILauncher.getAssetManager();
+        textX = this.font.drawText(queue, layer, depth + 1, "assets ", left, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (assetManager.getResidentBytes() >> 20), textX, line);
+        textX = this.font.drawText(queue, layer, depth + 1, " / ", textX, line);
+        textX = this.font.drawNumber(queue, layer, depth + 1, (int) (assetManager.getBudget() >> 20), textX, line);
+        this.font.drawText(queue, layer, depth + 1, " MB", textX, line);
+    }
+
+    /**
+     * Makes an image of a single pixel
+     *
+     * @param argb color of the pixel
+     * @return the image
+     */
+    static Image solid(int argb) {
+        WritableImage image = new WritableImage(1, 1);
+        image.getPixelWriter().setArgb(0, 0, argb);
+        return image;
+    }
+}
@@ -0,0 +1,97 @@
+package etphoneshome.graphics;
+
+import etphoneshome.objects.Obstacle;
+import etphoneshome.objects.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds a pre-rendered image of every {@code Platform} length, so a whole platform can be drawn with a
+ * single draw call instead of one per brick. Using bake renders the strips of every platform of a level. Using
+ * getStrip returns the strip of the given length, rendering it first if it hasn't been baked.
+ */
+public class PlatformStrips {
+
+    /**
+     * size of a single platform brick
+     */
+    public static final int BRICK_WIDTH = 60;
+    public static final int BRICK_HEIGHT = 30;
+
+    /**
+     * baked strips keyed by the platform length
+     */
+    private static final Map<Integer, WritableImage> strips = new HashMap<>();
+
+    /**
+     * Renders the strips of every platform in the given obstacles
+     *
+     * @param obstacles obstacles of a level
+     */
+    public static void bake(List<Obstacle> obstacles) {
+        for (Obstacle obstacle : obstacles) {
+            if (obstacle instanceof Platform) {
+                getStrip(((Platform) obstacle).getLength());
+            }
+        }
+    }
+
+    /**
+     * Returns the strip of a platform with the given length
+     *
+     * @param length length of the platform
+     * @return image of the whole platform
+     */
+    public static synchronized Image getStrip(int length) {
+        WritableImage strip = strips.get(length);
+        if (strip == null) {
+            strip = render(length);
+            strips.put(length, strip);
+        }
+        return strip;
+    }
+
+    /**
+     * Renders a strip by copying the left end, middle and right end bricks next to each other
+     *
+     * @param length length of the platform
+     * @return image of the whole platform
+     */
+    private static WritableImage render(int length) {
+        WritableImage strip = new WritableImage(BRICK_WIDTH * length, BRICK_HEIGHT);
+        PixelWriter pixelWriter = strip.getPixelWriter();
+
+        if (length == 1) {  //single platform of length 1
+            copyBrick(pixelWriter, SpriteURL.SINGLE_PLATFORM, 0);
+            return strip;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (i == 0) { //left end brick
+                copyBrick(pixelWriter, SpriteURL.LEFT_END_PLATFORM, 0);
+            } else if (i < length - 1) { //middle bricks
+                copyBrick(pixelWriter, SpriteURL.REGULAR_PLATFORM, BRICK_WIDTH * i);
+            } else { //right end brick
+                copyBrick(pixelWriter, SpriteURL.RIGHT_END_PLATFORM, BRICK_WIDTH * i);
+            }
+        }
+        return strip;
+    }
+
+    /**
+     * Copies a brick into a strip
+     *
+     * @param pixelWriter writer of the strip
+     * @param brick       sprite of the brick
+     * @param x           x coordinate of the brick in the strip
+     */
+    private static void copyBrick(PixelWriter pixelWriter, SpriteURL brick, int x) {
+        Image brickImage = SpriteCache.getImage(brick);
+        pixelWriter.setPixels(x, 0, BRICK_WIDTH, BRICK_HEIGHT, brickImage.getPixelReader(), 0, 0);
+    }
+}
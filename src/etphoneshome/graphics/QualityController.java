@@ -0,0 +1,212 @@
+package etphoneshome.graphics;
+
+/**
+ * This class picks how nicely the game is drawn from how long frames take. Every frame using recordFrame adds the time
+ * since the last frame, and once enough frames are in, their 90th percentile is compared with the frame budget. If
+ * frames are too slow the quality is stepped down: first the render scale is lowered, then the background stops
+ * scrolling so it doesn't have to be redrawn every frame. Once frames fit the budget again for a while the quality is
+ * stepped back up.
+ * <p>
+ * The thresholds for stepping down and up are far apart, and stepping up waits much longer than stepping down, so the
+ * quality doesn't flip back and forth. If stepping up makes frames too slow again, the next step up waits twice as
+ * long.
+ */
+public class QualityController {
+
+    /**
+     * render scale and whether the background scrolls at each quality level, best first
+     */
+    private static final double[] RENDER_SCALES = {1, 0.85, 0.7, 0.7, 0.5};
+    private static final boolean[] PARALLAX = {true, true, true, false, false};
+
+    /**
+     * amount of frames looked at for each decision, and the fraction of them that has to fit the budget
+     */
+    private static final int WINDOW = 30;
+    private static final double PERCENTILE = 0.9;
+
+    /**
+     * frames slower than the budget times {@code DOWN_RATIO} step the quality down, and frames faster than the
+     * budget times {@code UP_RATIO} for {@code UP_FRAMES} frames step it up
+     */
+    private static final double DOWN_RATIO = 1.25, UP_RATIO = 1.05;
+    private static final int UP_FRAMES = 120, MAX_UP_FRAMES = 1920;
+
+    /**
+     * time a frame should take, the time of a frame at 60 frames a second unless another one is given
+     */
+    private final long budgetNanos;
+
+    /**
+     * frame times since the quality last changed, and the {@code System.nanoTime} of the last frame
+     */
+    private final TimingHistory frameTimes = new TimingHistory(WINDOW);
+    private long lastFrame = 0;
+
+    /**
+     * current quality level, the frames it has fit the budget for and the frames needed before stepping up
+     */
+    private int level = 0;
+    private int fastFrames = 0;
+    private int upFrames = UP_FRAMES;
+
+    /**
+     * whether the last change was a step up, so stepping straight back down makes the next step up wait longer
+     */
+    private boolean steppedUp = false;
+
+    /**
+     * Constructor that aims for 60 frames a second
+     */
+    public QualityController() {
+        this(16700000L);
+    }
+
+    /**
+     * Constructor that sets the frame budget
+     *
+     * @param budgetNanos time a frame should take in nanoseconds
+     */
+    public QualityController(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Records the start of a frame and changes the quality if frames have been too slow or fast enough for long
+     * enough, must be called every frame
+     *
+     * @param now {@code System.nanoTime} of the frame
+     * @return true if the quality changed
+     */
+    public boolean recordFrame(long now) {
+        long last = this.lastFrame;
+        this.lastFrame = now;
+        if (last == 0) {
+            return false;
+        }
+        this.frameTimes.add(now - last);
+        if (this.frameTimes.size() < WINDOW) {
+            return false;
+        }
+
+        long frameTime = this.frameTimes.getPercentile(PERCENTILE);
+        if (frameTime > this.budgetNanos * DOWN_RATIO) {
+            if (this.level == RENDER_SCALES.length - 1) {
+                this.fastFrames = 0;
+                return false;
+            }
+            //stepping up was too much, so wait longer before trying again
+            if (this.steppedUp) {
+                this.upFrames = Math.min(this.upFrames * 2, MAX_UP_FRAMES);
+            }
+            this.setLevel(this.level + 1, false);
+            return true;
+        }
+
+        if (frameTime <= this.budgetNanos * UP_RATIO) {
+            this.fastFrames++;
+        } else {
+            this.fastFrames = 0;
+        }
+        if (this.fastFrames >= this.upFrames && this.level > 0) {
+            this.setLevel(this.level - 1, true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Changes the quality level and starts measuring frames of the new level from scratch
+     *
+     * @param level     the new quality level
+     * @param steppedUp true if the new level is better than the old one
+     */
+    private void setLevel(int level, boolean steppedUp) {
+        this.level = level;
+        this.steppedUp = steppedUp;
+        this.fastFrames = 0;
+        this.frameTimes.clear();
+    }
+
+    /**
+     * Goes back to the best quality, e.g. after the game was paused and frame times no longer mean anything
+     */
+    public void reset() {
+        this.setLevel(0, false);
+        this.upFrames = UP_FRAMES;
+        this.lastFrame = 0;
+    }
+
+    /**
+     * @return quality level, 0 is the best
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * @return pixels drawn per pixel of the world at the current quality
+     */
+    public double getRenderScale() {
+        return RENDER_SCALES[this.level];
+    }
+
+    /**
+     * @return true if the background scrolls with the view at the current quality
+     */
+    public boolean isParallaxEnabled() {
+        return PARALLAX[this.level];
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        QualityController controller = new QualityController(16000000L);
+        long now = 1;
+
+        //slow frames step the quality down once per window
+        int changes = 0;
+        for (int i = 0; i < WINDOW * 2 + 1; i++) {
+            now += 25000000L;
+            if (controller.recordFrame(now)) {
+                changes++;
+            }
+        }
+        System.out.println("Testing stepping down. Should be 2 2: " + changes + " " + controller.getLevel());
+
+        //a frame time between the thresholds changes nothing
+        for (int i = 0; i < UP_FRAMES * 4; i++) {
+            now += 18000000L;
+            controller.recordFrame(now);
+        }
+        System.out.println("Testing between thresholds. Should be 2: " + controller.getLevel());
+
+        //fast frames step it back up, but only after a while
+        int frames = 0;
+        while (controller.getLevel() == 2) {
+            now += 16000000L;
+            controller.recordFrame(now);
+            frames++;
+        }
+        System.out.println("Testing stepping up. Should be true 0.85: " + (frames >= UP_FRAMES) + " " + controller.getRenderScale());
+
+        //slow frames straight after stepping up make the next step up wait twice as long
+        for (int i = 0; i < WINDOW; i++) {
+            now += 25000000L;
+            controller.recordFrame(now);
+        }
+        frames = 0;
+        while (controller.getLevel() == 2) {
+            now += 16000000L;
+            controller.recordFrame(now);
+            frames++;
+        }
+        System.out.println("Testing backing off. Should be true: " + (frames >= UP_FRAMES * 2));
+
+        //the background stops scrolling once the render scale is as low as it goes for it
+        for (int i = 0; i < WINDOW * 3; i++) {
+            now += 40000000L;
+            controller.recordFrame(now);
+        }
+        System.out.println("Testing lowest quality. Should be 4 false: " + controller.getLevel() + " " + controller.isParallaxEnabled());
+    }
+}
@@ -0,0 +1,214 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps every draw instead of drawing it. Each draw is stored as an operation, its layer, the texture or
+ * color it used and up to {@code ARGUMENTS} numbers, in arrays that are reused after clear. Using getChecksum sums up
+ * everything recorded so two runs of the game can be compared without a display.
+ */
+public class RecordingRenderer implements Renderer {
+
+    /**
+     * kinds of operations that are recorded
+     */
+    public static final int CLEAR_LAYER = 0, DRAW_IMAGE = 1, STROKE_RECT = 2, SET_LAYER_OFFSET = 3;
+
+    /**
+     * most numbers recorded per operation
+     */
+    public static final int ARGUMENTS = 8;
+
+    /**
+     * recorded operations, each operation is the same index in every array and has {@code ARGUMENTS} numbers
+     */
+    private int size = 0;
+    private int[] operations, layers;
+    private Object[] references;
+    private double[] arguments;
+
+    /**
+     * Constructor that allocates room for the given amount of operations
+     *
+     * @param capacity amount of operations expected, the recording grows if more are made
+     */
+    public RecordingRenderer(int capacity) {
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    @Override
+    public void clearLayer(int layer) {
+        this.record(CLEAR_LAYER, layer, null);
+    }
+
+    @Override
+    public void drawImage(int layer, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight) {
+        int offset = this.record(DRAW_IMAGE, layer, texture);
+        this.arguments[offset] = srcX;
+        this.arguments[offset + 1] = srcY;
+        this.arguments[offset + 2] = srcWidth;
+        this.arguments[offset + 3] = srcHeight;
+        this.arguments[offset + 4] = dstX;
+        this.arguments[offset + 5] = dstY;
+        this.arguments[offset + 6] = dstWidth;
+        this.arguments[offset + 7] = dstHeight;
+    }
+
+    @Override
+    public void strokeRect(int layer, Color color, double lineWidth, double x, double y, double width, double height) {
+        int offset = this.record(STROKE_RECT, layer, color);
+        this.arguments[offset] = lineWidth;
+        this.arguments[offset + 1] = x;
+        this.arguments[offset + 2] = y;
+        this.arguments[offset + 3] = width;
+        this.arguments[offset + 4] = height;
+    }
+
+    @Override
+    public void setLayerOffset(int layer, double offsetX) {
+        int offset = this.record(SET_LAYER_OFFSET, layer, null);
+        this.arguments[offset] = offsetX;
+    }
+
+    /**
+     * Adds an operation to the recording, with all its numbers set to 0
+     *
+     * @param operation kind of the operation
+     * @param layer     layer of the operation
+     * @param reference texture or color the operation used, may be null
+     * @return index of the first number of the operation
+     */
+    private int record(int operation, int layer, Object reference) {
+        if (this.size == this.operations.length) {
+            this.allocate(this.size * 2);
+        }
+        this.operations[this.size] = operation;
+        this.layers[this.size] = layer;
+        this.references[this.size] = reference;
+        int offset = this.size * ARGUMENTS;
+        Arrays.fill(this.arguments, offset, offset + ARGUMENTS, 0);
+        this.size++;
+        return offset;
+    }
+
+    /**
+     * Grows the arrays of the recording, keeping the operations already recorded
+     *
+     * @param capacity new amount of operations the recording can hold
+     */
+    private void allocate(int capacity) {
+        this.operations = this.operations == null ? new int[capacity] : Arrays.copyOf(this.operations, capacity);
+        this.layers = this.layers == null ? new int[capacity] : Arrays.copyOf(this.layers, capacity);
+        this.references = this.references == null ? new Object[capacity] : Arrays.copyOf(this.references, capacity);
+        this.arguments = this.arguments == null ? new double[capacity * ARGUMENTS] : Arrays.copyOf(this.arguments, capacity * ARGUMENTS);
+    }
+
+    /**
+     * Forgets every recorded operation
+     */
+    public void clear() {
+        Arrays.fill(this.references, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Returns a sum of every recorded operation, the same recording always gives the same checksum. Textures are
+     * counted by their size since the images themselves differ between runs
+     *
+     * @return checksum of the recording
+     */
+    public long getChecksum() {
+        long checksum = 17;
+        for (int i = 0; i < this.size; i++) {
+            checksum = 31 * checksum + this.operations[i];
+            checksum = 31 * checksum + this.layers[i];
+            Object reference = this.references[i];
+            if (reference instanceof Image) {
+                checksum = 31 * checksum + Double.doubleToLongBits(((Image) reference).getWidth());
+                checksum = 31 * checksum + Double.doubleToLongBits(((Image) reference).getHeight());
+            } else if (reference != null) {
+                checksum = 31 * checksum + reference.hashCode();
+            }
+            for (int n = 0; n < ARGUMENTS; n++) {
+                checksum = 31 * checksum + Double.doubleToLongBits(this.arguments[i * ARGUMENTS + n]);
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * @return amount of recorded operations
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the amount of recorded operations of one kind
+     *
+     * @param operation kind of the operation
+     * @return amount of operations of that kind
+     */
+    public int count(int operation) {
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.operations[i] == operation) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getOperation(int index) {
+        return this.operations[index];
+    }
+
+    public int getLayer(int index) {
+        return this.layers[index];
+    }
+
+    public Object getReference(int index) {
+        return this.references[index];
+    }
+
+    /**
+     * Returns a number of a recorded operation, in the order they are passed to the method that recorded it
+     *
+     * @param index    index of the operation
+     * @param argument which number of the operation
+     * @return the number
+     */
+    public double getArgument(int index, int argument) {
+        return this.arguments[index * ARGUMENTS + argument];
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        Image texture = new WritableImage(10, 20);
+        RecordingRenderer renderer = new RecordingRenderer(1);
+        renderer.clearLayer(2);
+        renderer.drawImage(2, texture, 0, 0, 10, 20, 5, 6, -10, 20);
+        renderer.strokeRect(2, Color.RED, 2, 1, 2, 3, 4);
+        renderer.setLayerOffset(1, -30);
+
+        System.out.println("Testing size. Should be 4: " + renderer.size());
+        System.out.println("Testing count. Should be 1: " + renderer.count(DRAW_IMAGE));
+        System.out.println("Testing dstWidth. Should be -10.0: " + renderer.getArgument(1, 6));
+        System.out.println("Testing offset. Should be -30.0: " + renderer.getArgument(3, 0));
+        System.out.println("Testing reference. Should be true: " + (renderer.getReference(1) == texture));
+
+        long checksum = renderer.getChecksum();
+        renderer.clear();
+        renderer.clearLayer(2);
+        renderer.drawImage(2, new WritableImage(10, 20), 0, 0, 10, 20, 5, 6, -10, 20);
+        renderer.strokeRect(2, Color.RED, 2, 1, 2, 3, 4);
+        renderer.setLayerOffset(1, -30);
+        System.out.println("Testing checksum. Should be true: " + (renderer.getChecksum() == checksum));
+        renderer.setLayerOffset(1, -31);
+        System.out.println("Testing checksum. Should be false: " + (renderer.getChecksum() == checksum));
+    }
+}
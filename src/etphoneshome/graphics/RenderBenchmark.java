@@ -0,0 +1,89 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import etphoneshome.entities.characters.Character;
+import etphoneshome.managers.SimulationManager;
+import etphoneshome.objects.Session;
+import javafx.embed.swing.JFXPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class times the repaint of the game without a display. The game is run by hand with the character holding
+ * right, every tick is kept, and then every tick is drawn a few times part way between it and the tick before with
+ * each renderer. {@code NullRenderer} times the work done before the draws reach the screen, and
+ * {@code RecordingRenderer} also gives a checksum of everything drawn so two builds can be compared.
+ */
+public class RenderBenchmark {
+
+    /**
+     * amount of ticks run, and frames drawn per tick (a 144Hz display draws about 3 frames per tick)
+     */
+    private static final int TICKS = 3000;
+    private static final int FRAMES_PER_TICK = 3;
+
+    /**
+     * amount of times the ticks are drawn before they are timed
+     */
+    private static final int WARMUP_RUNS = 2;
+
+    public static void main(String[] args) {
+        new JFXPanel(); //this is needed to make images without opening the window
+        UILauncher.setup(0);
+
+        Character character = UILauncher.setupCharacter();
+        UILauncher.getInputListener().setHeld(Session.RIGHT, true);
+
+        //running the game and keeping every snapshot, until the character dies or wins
+        SimulationManager simulationManager = UILauncher.getSimulationManager();
+        simulationManager.prepare(character);
+        List<WorldSnapshot> snapshots = new ArrayList<>();
+        snapshots.add(simulationManager.getSnapshots().getCurrent());
+        long time = System.nanoTime();
+        for (int i = 0; i < TICKS && !simulationManager.isPaused(); i++) {
+            time += SimulationManager.TICK_NANOS;
+            simulationManager.runTick(time);
+            snapshots.add(simulationManager.getSnapshots().getCurrent());
+        }
+        System.out.println("Ticks run: " + (snapshots.size() - 1));
+
+        GraphicsRepainter graphicsRepainter = UILauncher.getGraphicsRepainter();
+        NullRenderer nullRenderer = new NullRenderer();
+        RecordingRenderer recordingRenderer = new RecordingRenderer(1024);
+
+        long nullNanos = 0;
+        long recordingNanos = 0;
+        for (int run = 0; run <= WARMUP_RUNS; run++) {
+            nullNanos = time(graphicsRepainter, nullRenderer, snapshots);
+            recordingRenderer.clear();
+            recordingNanos = time(graphicsRepainter, recordingRenderer, snapshots);
+        }
+
+        int frames = (snapshots.size() - 1) * FRAMES_PER_TICK;
+        System.out.println("Frames drawn: " + frames);
+        System.out.println("Null renderer: " + nullNanos / frames / 1000.0 + " us per frame");
+        System.out.println("Recording renderer: " + recordingNanos / frames / 1000.0 + " us per frame");
+        System.out.println("Draws per frame: " + recordingRenderer.count(RecordingRenderer.DRAW_IMAGE) / (double) frames);
+        System.out.println("Checksum: " + Long.toHexString(recordingRenderer.getChecksum()));
+    }
+
+    /**
+     * Draws every tick with a renderer
+     *
+     * @param graphicsRepainter the graphics of the game
+     * @param renderer          the renderer to draw with
+     * @param snapshots         snapshot of every tick in order
+     * @return nanoseconds it took to draw every tick
+     */
+    private static long time(GraphicsRepainter graphicsRepainter, Renderer renderer, List<WorldSnapshot> snapshots) {
+        graphicsRepainter.setRenderer(renderer);
+        long start = System.nanoTime();
+        for (int i = 1; i < snapshots.size(); i++) {
+            for (int frame = 1; frame <= FRAMES_PER_TICK; frame++) {
+                graphicsRepainter.render(snapshots.get(i - 1), snapshots.get(i), frame / (double) FRAMES_PER_TICK);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,10 @@
+package etphoneshome.graphics;
+
+/**
+ * Ways {@code GraphicsRepainter} can draw the level. {@code CANVAS} redraws the static and actor layers as canvases,
+ * {@code SCENE_GRAPH} keeps a node for every obstacle and actor and only moves them.
+ */
+public enum RenderMode {
+    CANVAS,
+    SCENE_GRAPH
+}
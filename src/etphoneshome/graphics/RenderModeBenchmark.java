@@ -0,0 +1,92 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import etphoneshome.managers.SimulationManager;
+import etphoneshome.objects.Session;
+import etphoneshome.sound.Sound;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.stage.Stage;
+
+/**
+ * This class compares the two render modes in the real window. The game is played with the character holding right,
+ * and the render mode is switched every {@code SWITCH_FRAMES} frames so both modes draw the same parts of the level.
+ * The time between frames includes JavaFX drawing the scene, the render time only covers preparing each frame.
+ * Once {@code TOTAL_FRAMES} frames are drawn the results of each mode are printed and the game exits.
+ */
+public class RenderModeBenchmark extends GraphicsRepainter {
+
+    /**
+     * frames drawn before switching modes, and in total
+     */
+    private static final int SWITCH_FRAMES = 240;
+    private static final int TOTAL_FRAMES = 4800;
+
+    /**
+     * time between frames and time to prepare a frame of each mode, indexed by the ordinal of the mode
+     */
+    private final TimingHistory[] frameTimes = new TimingHistory[RenderMode.values().length];
+    private final TimingHistory[] renderTimes = new TimingHistory[RenderMode.values().length];
+
+    public static void main(String[] args) {
+        UILauncher.setup(0);
+        Sound.setMuted(true);
+        //both modes are measured at full quality
+        UILauncher.setAdaptiveQuality(false);
+        Application.launch(RenderModeBenchmark.class, args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        super.start(stage);
+        for (RenderMode mode : RenderMode.values()) {
+            this.frameTimes[mode.ordinal()] = new TimingHistory(TOTAL_FRAMES);
+            this.renderTimes[mode.ordinal()] = new TimingHistory(TOTAL_FRAMES);
+        }
+
+        new AnimationTimer() {
+            private long lastFrame = 0;
+            private int frames = 0;
+
+            @Override
+            public void handle(long now) {
+                SimulationManager simulationManager = UILauncher.getSimulationManager();
+                UILauncher.getInputListener().setHeld(Session.RIGHT, true);
+                if (simulationManager.isPaused()) {
+                    simulationManager.playAgain();
+                }
+
+                //the first frame after a switch redraws everything, so it isn't counted
+                RenderMode mode = getRenderMode();
+                if (this.lastFrame != 0 && this.frames % SWITCH_FRAMES != 0) {
+                    frameTimes[mode.ordinal()].add(now - this.lastFrame);
+                    renderTimes[mode.ordinal()].add(getLastRenderNanos());
+                }
+                this.lastFrame = now;
+                this.frames++;
+
+                if (this.frames == TOTAL_FRAMES) {
+                    this.stop();
+                    printResults();
+                    System.exit(0);
+                }
+                if (this.frames % SWITCH_FRAMES == 0) {
+                    UILauncher.setRenderMode(mode == RenderMode.CANVAS ? RenderMode.SCENE_GRAPH : RenderMode.CANVAS);
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Prints the median, 99th percentile and longest frame and render time of each mode
+     */
+    private void printResults() {
+        for (RenderMode mode : RenderMode.values()) {
+            TimingHistory frames = this.frameTimes[mode.ordinal()];
+            TimingHistory renders = this.renderTimes[mode.ordinal()];
+            System.out.println(mode + " (" + frames.size() + " frames)");
+            System.out.println("    frame  p50 " + frames.getPercentile(0.5) / 1000 + " us, p99 " + frames.getPercentile(0.99) / 1000 + " us, max " + frames.getMax() / 1000 + " us");
+            System.out.println("    render p50 " + renders.getPercentile(0.5) / 1000 + " us, p99 " + renders.getPercentile(0.99) / 1000 + " us, max " + renders.getMax() / 1000 + " us");
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package etphoneshome.graphics;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class collects the draws of a tick so they can be issued together. Using add queues a draw of a rectangle of
+ * a texture, and using flush sorts the queued draws by layer, depth and texture and draws them in one pass, so every
+ * sprite on the same atlas page is drawn back to back. Draws are stored in arrays that are reused every tick.
+ */
+public class RenderQueue {
+
+    /**
+     * bits of the sort key given to the layer, depth and texture of a draw, so layers go up to 15 and depths up to
+     * 255. The low 32 bits are the index of the draw so draws that tie are kept in the order they were added. The top
+     * bit of the key is flipped, so layers 8 and up, which set it, still sort after the lower layers
+     */
+    private static final int LAYER_BITS = 4;
+    private static final int DEPTH_BITS = 8;
+    private static final int TEXTURE_BITS = 20;
+
+    /**
+     * queued draws, each draw is the same index in every array
+     */
+    private int size = 0;
+    private long[] sortKeys;
+    private int[] layers, textures, srcX, srcY, srcWidth, srcHeight;
+    private double[] dstX, dstY, dstWidth, dstHeight;
+
+    /**
+     * textures of the queued draws, given ids in the order they are first used this tick
+     */
+    private final List<Image> textureList = new ArrayList<>();
+    private final Map<Image, Integer> textureIds = new IdentityHashMap<>();
+
+    /**
+     * amount of draws and texture changes of the last flush
+     */
+    private int lastDrawCalls = 0;
+    private int lastTextureSwitches = 0;
+
+    /**
+     * Constructor that allocates room for the given amount of draws
+     *
+     * @param capacity amount of draws expected per tick, the queue grows if more are added
+     */
+    public RenderQueue(int capacity) {
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Queues a draw of a whole image at its own size
+     *
+     * @param layer layer to draw on
+     * @param depth order of the draw within the layer, higher is drawn later
+     * @param image image to draw
+     * @param x     x coordinate to draw at
+     * @param y     y coordinate to draw at
+     */
+    public void add(int layer, int depth, Image image, double x, double y) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        this.add(layer, depth, image, 0, 0, width, height, x, y, width, height);
+    }
+
+    /**
+     * Queues a draw of a rectangle of a texture
+     *
+     * @param layer     layer to draw on
+     * @param depth     order of the draw within the layer, higher is drawn later
+     * @param texture   image the rectangle is taken from
+     * @param srcX      x coordinate of the rectangle in the texture
+     * @param srcY      y coordinate of the rectangle in the texture
+     * @param srcWidth  width of the rectangle
+     * @param srcHeight height of the rectangle
+     * @param dstX      x coordinate to draw at
+     * @param dstY      y coordinate to draw at
+     * @param dstWidth  width to draw the rectangle at
+     * @param dstHeight height to draw the rectangle at
+     */
+    public void add(int layer, int depth, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight) {
+        if (layer >>> LAYER_BITS != 0 || depth >>> DEPTH_BITS != 0) {
+            throw new IllegalArgumentException("Layer must be 0 to " + ((1 << LAYER_BITS) - 1) + " and depth 0 to "
+                    + ((1 << DEPTH_BITS) - 1) + ": " + layer + ", " + depth);
+        }
+        if (this.size == this.sortKeys.length) {
+            this.allocate(this.size * 2);
+        }
+        int textureId = this.getTextureId(texture);
+        int i = this.size++;
+        this.layers[i] = layer;
+        this.textures[i] = textureId;
+        this.srcX[i] = srcX;
+        this.srcY[i] = srcY;
+        this.srcWidth[i] = srcWidth;
+        this.srcHeight[i] = srcHeight;
+        this.dstX[i] = dstX;
+        this.dstY[i] = dstY;
+        this.dstWidth[i] = dstWidth;
+        this.dstHeight[i] = dstHeight;
+        this.sortKeys[i] = (((long) layer << (64 - LAYER_BITS))
+                | ((long) depth << (64 - LAYER_BITS - DEPTH_BITS))
+                | ((long) textureId << 32)
+                | i) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Sorts the queued draws by layer, depth and texture. Once sorted, the draw at a position is found with
+     * getIndex
+     */
+    public void sort() {
+        Arrays.sort(this.sortKeys, 0, this.size);
+    }
+
+    /**
+     * Draws every queued draw onto its layer and empties the queue
+     *
+     * @param renderer renderer the layers are drawn with
+     */
+    public void flush(Renderer renderer) {
+        this.sort();
+        int drawCalls = 0;
+        int textureSwitches = 0;
+        int lastTexture = -1;
+        for (int position = 0; position < this.size; position++) {
+            int i = this.getIndex(position);
+            if (this.textures[i] != lastTexture) {
+                lastTexture = this.textures[i];
+                textureSwitches++;
+            }
+            renderer.drawImage(this.layers[i], this.textureList.get(this.textures[i]),
+                    this.srcX[i], this.srcY[i], this.srcWidth[i], this.srcHeight[i],
+                    this.dstX[i], this.dstY[i], this.dstWidth[i], this.dstHeight[i]);
+            drawCalls++;
+        }
+        this.lastDrawCalls = drawCalls;
+        this.lastTextureSwitches = textureSwitches;
+        this.clear();
+    }
+
+    /**
+     * Empties the queue without drawing
+     */
+    public void clear() {
+        this.size = 0;
+        this.textureList.clear();
+        this.textureIds.clear();
+    }
+
+    /**
+     * Returns the id of a texture, giving it the next id if it is the first use this tick
+     *
+     * @param texture the texture
+     * @return id of the texture
+     */
+    private int getTextureId(Image texture) {
+        Integer id = this.textureIds.get(texture);
+        if (id == null) {
+            if (this.textureList.size() == 1 << TEXTURE_BITS) {
+                throw new IllegalStateException("Too many textures in one frame");
+            }
+            id = this.textureList.size();
+            this.textureList.add(texture);
+            this.textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    /**
+     * Grows the arrays of the queue, keeping the draws already queued
+     *
+     * @param capacity new amount of draws the queue can hold
+     */
+    private void allocate(int capacity) {
+        this.sortKeys = this.sortKeys == null ? new long[capacity] : Arrays.copyOf(this.sortKeys, capacity);
+        this.layers = this.layers == null ? new int[capacity] : Arrays.copyOf(this.layers, capacity);
+        this.textures = this.textures == null ? new int[capacity] : Arrays.copyOf(this.textures, capacity);
+        this.srcX = this.srcX == null ? new int[capacity] : Arrays.copyOf(this.srcX, capacity);
+        this.srcY = this.srcY == null ? new int[capacity] : Arrays.copyOf(this.srcY, capacity);
+        this.srcWidth = this.srcWidth == null ? new int[capacity] : Arrays.copyOf(this.srcWidth, capacity);
+        this.srcHeight = this.srcHeight == null ? new int[capacity] : Arrays.copyOf(this.srcHeight, capacity);
+        this.dstX = this.dstX == null ? new double[capacity] : Arrays.copyOf(this.dstX, capacity);
+        this.dstY = this.dstY == null ? new double[capacity] : Arrays.copyOf(this.dstY, capacity);
+        this.dstWidth = this.dstWidth == null ? new double[capacity] : Arrays.copyOf(this.dstWidth, capacity);
+        this.dstHeight = this.dstHeight == null ? new double[capacity] : Arrays.copyOf(this.dstHeight, capacity);
+    }
+
+    /**
+     * @return amount of queued draws
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of the draw at a position of the sorted queue, used with the getters below
+     *
+     * @param position position in the queue after sort
+     * @return index of the draw
+     */
+    public int getIndex(int position) {
+        return (int) this.sortKeys[position];
+    }
+
+    public int getLayer(int index) {
+        return this.layers[index];
+    }
+
+    public Image getTexture(int index) {
+        return this.textureList.get(this.textures[index]);
+    }
+
+    public int getSrcX(int index) {
+        return this.srcX[index];
+    }
+
+    public int getSrcY(int index) {
+        return this.srcY[index];
+    }
+
+    public int getSrcWidth(int index) {
+        return this.srcWidth[index];
+    }
+
+    public int getSrcHeight(int index) {
+        return this.srcHeight[index];
+    }
+
+    public double getDstX(int index) {
+        return this.dstX[index];
+    }
+
+    public double getDstY(int index) {
+        return this.dstY[index];
+    }
+
+    public double getDstWidth(int index) {
+        return this.dstWidth[index];
+    }
+
+    public double getDstHeight(int index) {
+        return this.dstHeight[index];
+    }
+
+    /**
+     * @return amount of draw calls issued by the last flush
+     */
+    public int getLastDrawCalls() {
+        return this.lastDrawCalls;
+    }
+
+    /**
+     * @return amount of times the last flush changed texture between draws
+     */
+    public int getLastTextureSwitches() {
+        return this.lastTextureSwitches;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        new JFXPanel(); //this is needed to make images without opening the window
+        Image image = new WritableImage(1, 1);
+        RenderQueue queue = new RenderQueue(4);
+        queue.add(15, 0, image, 0, 0);
+        queue.add(8, 0, image, 0, 0);
+        queue.add(0, 255, image, 0, 0);
+        queue.sort();
+        System.out.println("Testing layers above 7 sort last. Should be 0 8 15: " + queue.getLayer(queue.getIndex(0))
+                + " " + queue.getLayer(queue.getIndex(1)) + " " + queue.getLayer(queue.getIndex(2)));
+        try {
+            queue.add(16, 0, image, 0, 0);
+            System.out.println("Testing layer 16. Should be rejected: added");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Testing layer 16. Should be rejected: rejected");
+        }
+    }
+}
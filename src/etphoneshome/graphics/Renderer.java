@@ -0,0 +1,57 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * This interface is where the draws of {@code GraphicsRepainter} end up. The screen is made of stacked layers, and a
+ * renderer is told to clear a layer, draw a rectangle of a texture on it, outline a rectangle on it or slide it
+ * sideways. {@code CanvasRenderer} draws on the canvases of the window, {@code NullRenderer} drops every draw and
+ * {@code RecordingRenderer} keeps them, so the whole repaint can run without a display.
+ */
+public interface Renderer {
+
+    /**
+     * Clears everything drawn on a layer
+     *
+     * @param layer index of the layer
+     */
+    void clearLayer(int layer);
+
+    /**
+     * Draws a rectangle of a texture onto a layer. A negative destination width draws the rectangle mirrored
+     *
+     * @param layer     index of the layer
+     * @param texture   texture to draw from
+     * @param srcX      x coordinate of the rectangle in the texture
+     * @param srcY      y coordinate of the rectangle in the texture
+     * @param srcWidth  width of the rectangle in the texture
+     * @param srcHeight height of the rectangle in the texture
+     * @param dstX      x coordinate to draw at
+     * @param dstY      y coordinate to draw at
+     * @param dstWidth  width to draw at
+     * @param dstHeight height to draw at
+     */
+    void drawImage(int layer, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight);
+
+    /**
+     * Draws the outline of a rectangle onto a layer
+     *
+     * @param layer     index of the layer
+     * @param color     color of the outline
+     * @param lineWidth width of the outline
+     * @param x         x coordinate of the rectangle
+     * @param y         y coordinate of the rectangle
+     * @param width     width of the rectangle
+     * @param height    height of the rectangle
+     */
+    void strokeRect(int layer, Color color, double lineWidth, double x, double y, double width, double height);
+
+    /**
+     * Slides a whole layer sideways without redrawing it
+     *
+     * @param layer   index of the layer
+     * @param offsetX x coordinate of the left edge of the layer on screen
+     */
+    void setLayerOffset(int layer, double offsetX);
+}
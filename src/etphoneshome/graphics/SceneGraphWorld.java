@@ -0,0 +1,224 @@
+package etphoneshome.graphics;
+
+import etphoneshome.objects.Obstacle;
+import etphoneshome.objects.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class draws the level as a retained group of {@code ImageView} nodes instead of redrawing canvases. A node is
+ * made for every obstacle and the finish line when the obstacles of a level change, and the whole group is
+ * translated to move the camera. Actors get a node the first time they are placed and keep it while they are in the
+ * snapshot. Once an actor dies or is collected its node is hidden and kept to be reused by the next actor of the same
+ * kind, so after the first few frames only the translate properties of the nodes change.
+ */
+public class SceneGraphWorld {
+
+    /**
+     * A node showing an actor, with what it was last set to so only changes are passed on to JavaFX
+     */
+    private static class ActorNode {
+        private final ImageView view = new ImageView();
+        private Image sprite;
+        private boolean mirrored;
+        private int kind;
+        private long frame;
+    }
+
+    /**
+     * group moved by the camera, holding the group of static nodes and a group of actor nodes per kind of sprite
+     */
+    private final Group group = new Group();
+    private final Group staticGroup = new Group();
+    private final Group[] actorGroups = new Group[WorldSnapshot.FLASK + 1];
+
+    /**
+     * node of the finish line and the sprite it shows
+     */
+    private final ImageView finishLine = new ImageView();
+    private Image finishLineSprite;
+
+    /**
+     * nodes of the actors keyed by the object they show, and hidden nodes waiting to be reused for each kind
+     */
+    private final Map<Object, ActorNode> actorNodes = new IdentityHashMap<>();
+    private final List<Deque<ActorNode>> freeNodes = new ArrayList<>();
+
+    /**
+     * atlas the sprites are shown from
+     */
+    private final TextureAtlas atlas;
+
+    /**
+     * modification count of the obstacles the static nodes were made from, and the current frame
+     */
+    private int obstaclesVersion = -1;
+    private long frame = 0;
+
+    /**
+     * Constructor that makes the empty groups
+     *
+     * @param atlas atlas the sprites are shown from
+     */
+    public SceneGraphWorld(TextureAtlas atlas) {
+        this.atlas = atlas;
+        this.group.getChildren().add(this.staticGroup);
+        for (int kind = 0; kind < this.actorGroups.length; kind++) {
+            this.actorGroups[kind] = new Group();
+            this.freeNodes.add(new ArrayDeque<>());
+            this.group.getChildren().add(this.actorGroups[kind]);
+        }
+        this.finishLine.setVisible(false);
+    }
+
+    /**
+     * Makes the static nodes again if the obstacles changed, and shows or hides the finish line
+     *
+     * @param obstacles         obstacles of the level
+     * @param obstaclesVersion  modification count of the obstacle list
+     * @param finishLineSprite  image of the finish line
+     * @param finishLineX       x coordinate of the finish line in the level
+     * @param finishLineY       y coordinate of the finish line in the level
+     * @param finishLineVisible true if the finish line should be shown
+     */
+    public void updateStatic(List<Obstacle> obstacles, int obstaclesVersion, Image finishLineSprite, int finishLineX, int finishLineY, boolean finishLineVisible) {
+        if (obstaclesVersion != this.obstaclesVersion) {
+            this.obstaclesVersion = obstaclesVersion;
+            this.staticGroup.getChildren().clear();
+            this.staticGroup.getChildren().add(this.finishLine);
+            for (Obstacle obstacle : obstacles) {
+                if (obstacle instanceof Platform) {
+                    Platform platform = (Platform) obstacle;
+                    ImageView view = new ImageView(PlatformStrips.getStrip(platform.getLength()));
+                    view.setTranslateX(platform.getLocation().getXcord());
+                    view.setTranslateY(platform.getLocation().getYcord());
+                    this.staticGroup.getChildren().add(view);
+                }
+            }
+        }
+
+        this.finishLine.setVisible(finishLineVisible);
+        if (finishLineVisible) {
+            if (finishLineSprite != this.finishLineSprite) {
+                this.finishLineSprite = finishLineSprite;
+                this.setSprite(this.finishLine, finishLineSprite);
+            }
+            this.finishLine.setTranslateX(finishLineX);
+            this.finishLine.setTranslateY(finishLineY);
+        }
+    }
+
+    /**
+     * Moves the whole world with the camera
+     *
+     * @param camera the camera of the frame
+     */
+    public void setCamera(Camera camera) {
+        this.group.setTranslateX(camera.getOffsetX());
+        this.group.setTranslateY(camera.getOffsetY());
+    }
+
+    /**
+     * Starts placing the actors of a new frame
+     */
+    public void beginFrame() {
+        this.frame++;
+    }
+
+    /**
+     * Places the node of an actor, giving it a node if it doesn't have one yet
+     *
+     * @param kind     kind of the sprite
+     * @param owner    object the sprite belongs to
+     * @param sprite   image of the sprite
+     * @param x        x coordinate in the level
+     * @param y        y coordinate in the level
+     * @param mirrored true to flip the sprite horizontally
+     * @param visible  false to hide the node while it is out of view
+     */
+    public void placeActor(int kind, Object owner, Image sprite, int x, int y, boolean mirrored, boolean visible) {
+        ActorNode node = this.actorNodes.get(owner);
+        if (node == null) {
+            node = this.freeNodes.get(kind).poll();
+            if (node == null) {
+                node = new ActorNode();
+                node.kind = kind;
+                this.actorGroups[kind].getChildren().add(node.view);
+            }
+            this.actorNodes.put(owner, node);
+        }
+        node.frame = this.frame;
+
+        if (node.sprite != sprite) {
+            node.sprite = sprite;
+            this.setSprite(node.view, sprite);
+        }
+        if (node.mirrored != mirrored) {
+            node.mirrored = mirrored;
+            node.view.setScaleX(mirrored ? -1 : 1);
+        }
+        node.view.setTranslateX(x);
+        node.view.setTranslateY(y);
+        node.view.setVisible(visible);
+    }
+
+    /**
+     * Hides the nodes of every actor that wasn't placed this frame and keeps them to be reused
+     */
+    public void endFrame() {
+        Iterator<ActorNode> iterator = this.actorNodes.values().iterator();
+        while (iterator.hasNext()) {
+            ActorNode node = iterator.next();
+            if (node.frame != this.frame) {
+                iterator.remove();
+                node.view.setVisible(false);
+                this.freeNodes.get(node.kind).push(node);
+            }
+        }
+    }
+
+    /**
+     * Shows a sprite on a node, from its atlas page if it is in the atlas
+     *
+     * @param view   the node
+     * @param sprite image of the sprite
+     */
+    private void setSprite(ImageView view, Image sprite) {
+        AtlasRegion region = this.atlas.getRegion(sprite);
+        if (region != null) {
+            view.setImage(region.getPage());
+            view.setViewport(new Rectangle2D(region.getX(), region.getY(), region.getWidth(), region.getHeight()));
+        } else {
+            view.setImage(sprite);
+            view.setViewport(null);
+        }
+    }
+
+    /**
+     * @return the group holding every node of the world
+     */
+    public Group getGroup() {
+        return this.group;
+    }
+
+    /**
+     * @return amount of actor nodes made so far, shown or waiting to be reused
+     */
+    public int getActorNodeCount() {
+        int count = this.actorNodes.size();
+        for (Deque<ActorNode> free : this.freeNodes) {
+            count += free.size();
+        }
+        return count;
+    }
+}
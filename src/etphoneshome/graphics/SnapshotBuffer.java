@@ -0,0 +1,45 @@
+package etphoneshome.graphics;
+
+/**
+ * This class passes snapshots of the game from the game thread to the JavaFX thread. It holds two snapshots, the
+ * newest one and the one before it. Using publish makes a new snapshot the current one, and using read gets both
+ * snapshots together so they always belong to consecutive publishes.
+ */
+public class SnapshotBuffer {
+
+    /**
+     * the newest snapshot and the one published before it
+     */
+    private WorldSnapshot current, previous;
+
+    /**
+     * Makes a snapshot the current one, the old current snapshot becomes the previous one
+     *
+     * @param snapshot the new snapshot
+     */
+    public synchronized void publish(WorldSnapshot snapshot) {
+        this.previous = this.current == null ? snapshot : this.current;
+        this.current = snapshot;
+    }
+
+    /**
+     * Returns the newest snapshot
+     *
+     * @return the current snapshot, or null if none has been published
+     */
+    public synchronized WorldSnapshot getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Reads the previous and current snapshot into the given array
+     *
+     * @param into array of at least 2 snapshots, index 0 gets the previous snapshot and index 1 the current one
+     * @return the given array
+     */
+    public synchronized WorldSnapshot[] read(WorldSnapshot[] into) {
+        into[0] = this.previous;
+        into[1] = this.current;
+        return into;
+    }
+}
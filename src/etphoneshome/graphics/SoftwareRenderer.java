@@ -0,0 +1,313 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class draws the layers into arrays of pixels on the CPU, without JavaFX drawing anything. Pixels are stored
+ * as premultiplied ARGB, images are scaled with nearest neighbour sampling and blended over what is already on the
+ * layer. Using composite stacks the layers into a single frame, which is how frames are made without a display.
+ * <p>
+ * Runs of opaque pixels are copied with {@code System.arraycopy} instead of blended one by one, and a frame can be
+ * composited on a fork-join pool by splitting it into strips of rows, since every row is composited on its own.
+ */
+public class SoftwareRenderer implements Renderer {
+
+    /**
+     * pixels of every texture drawn so far, shared by every software renderer so each texture is only read once
+     */
+    private static final Map<Image, int[]> texturePixels = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * size of a frame
+     */
+    private final int width, height;
+
+    /**
+     * pixels of the layers from back to front, the width of each layer and how far it is slid sideways
+     */
+    private final int[][] layers;
+    private final int[] layerWidths;
+    private final int[] layerOffsets;
+
+    /**
+     * strips of fewer rows than this are composited on a single thread
+     */
+    private static final int STRIP_ROWS = 64;
+
+    /**
+     * Constructor that makes the layers
+     *
+     * @param width       width of a frame
+     * @param height      height of a frame and of every layer
+     * @param layerWidths width of every layer from back to front
+     */
+    public SoftwareRenderer(int width, int height, int... layerWidths) {
+        this.width = width;
+        this.height = height;
+        this.layerWidths = layerWidths.clone();
+        this.layerOffsets = new int[layerWidths.length];
+        this.layers = new int[layerWidths.length][];
+        for (int i = 0; i < layerWidths.length; i++) {
+            this.layers[i] = new int[layerWidths[i] * height];
+        }
+    }
+
+    @Override
+    public void clearLayer(int layer) {
+        Arrays.fill(this.layers[layer], 0);
+    }
+
+    @Override
+    public void drawImage(int layer, Image texture, int srcX, int srcY, int srcWidth, int srcHeight, double dstX, double dstY, double dstWidth, double dstHeight) {
+        boolean mirrored = dstWidth < 0;
+        int left = (int) Math.round(mirrored ? dstX + dstWidth : dstX);
+        int top = (int) Math.round(dstY);
+        int width = (int) Math.round(Math.abs(dstWidth));
+        int height = (int) Math.round(dstHeight);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        int[] source = getPixels(texture);
+        int textureWidth = (int) texture.getWidth();
+        int[] pixels = this.layers[layer];
+        int layerWidth = this.layerWidths[layer];
+        int startX = Math.max(0, -left);
+        int endX = Math.min(width, layerWidth - left);
+        int startY = Math.max(0, -top);
+        int endY = Math.min(height, this.height - top);
+        if (startX >= endX) {
+            return;
+        }
+
+        //drawn at its own size, so every row of the layer is a row of the texture and opaque runs can be copied
+        if (!mirrored && width == srcWidth && height == srcHeight) {
+            for (int y = startY; y < endY; y++) {
+                blendRow(source, (srcY + y) * textureWidth + srcX + startX, pixels, (top + y) * layerWidth + left + startX, endX - startX);
+            }
+            return;
+        }
+
+        for (int y = startY; y < endY; y++) {
+            int sourceRow = (srcY + y * srcHeight / height) * textureWidth;
+            int row = (top + y) * layerWidth + left;
+            for (int x = startX; x < endX; x++) {
+                int column = x * srcWidth / width;
+                int src = source[sourceRow + srcX + (mirrored ? srcWidth - 1 - column : column)];
+                int alpha = src >>> 24;
+                if (alpha == 255) {
+                    pixels[row + x] = src;
+                } else if (alpha != 0) {
+                    pixels[row + x] = blend(src, pixels[row + x]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void strokeRect(int layer, Color color, double lineWidth, double x, double y, double width, double height) {
+        int argb = toPremultiplied(color);
+        int half = (int) Math.round(lineWidth / 2);
+        int line = Math.max(1, (int) Math.round(lineWidth));
+        int left = (int) Math.round(x) - half;
+        int top = (int) Math.round(y) - half;
+        int right = (int) Math.round(x + width) - half;
+        int bottom = (int) Math.round(y + height) - half;
+        this.fillRect(layer, argb, left, top, right - left + line, line);
+        this.fillRect(layer, argb, left, bottom, right - left + line, line);
+        this.fillRect(layer, argb, left, top, line, bottom - top + line);
+        this.fillRect(layer, argb, right, top, line, bottom - top + line);
+    }
+
+    @Override
+    public void setLayerOffset(int layer, double offsetX) {
+        this.layerOffsets[layer] = (int) Math.round(offsetX);
+    }
+
+    /**
+     * Blends a rectangle of a single color over a layer
+     *
+     * @param layer  index of the layer
+     * @param argb   premultiplied color of the rectangle
+     * @param x      x coordinate of the rectangle
+     * @param y      y coordinate of the rectangle
+     * @param width  width of the rectangle
+     * @param height height of the rectangle
+     */
+    private void fillRect(int layer, int argb, int x, int y, int width, int height) {
+        int[] pixels = this.layers[layer];
+        int layerWidth = this.layerWidths[layer];
+        for (int row = Math.max(0, y); row < Math.min(this.height, y + height); row++) {
+            for (int column = Math.max(0, x); column < Math.min(layerWidth, x + width); column++) {
+                int index = row * layerWidth + column;
+                pixels[index] = blend(argb, pixels[index]);
+            }
+        }
+    }
+
+    /**
+     * Stacks the layers from back to front into a frame, starting from opaque black
+     *
+     * @param frame pixels of the frame, {@code width * height} long. Every pixel ends up opaque
+     */
+    public void composite(int[] frame) {
+        this.composite(frame, 0, this.height);
+    }
+
+    /**
+     * Stacks the layers from back to front into a frame on a fork-join pool, each thread compositing strips of rows.
+     * The frame is the same as the one made by composite on a single thread
+     *
+     * @param frame pixels of the frame, {@code width * height} long. Every pixel ends up opaque
+     * @param pool  pool the strips are composited on
+     */
+    public void composite(int[] frame, ForkJoinPool pool) {
+        pool.invoke(new Strip(frame, 0, this.height));
+    }
+
+    /**
+     * Stacks the layers from back to front into some rows of a frame
+     *
+     * @param frame  pixels of the frame
+     * @param startY first row to composite
+     * @param endY   row after the last row to composite
+     */
+    private void composite(int[] frame, int startY, int endY) {
+        Arrays.fill(frame, startY * this.width, endY * this.width, 0xFF000000);
+        for (int layer = 0; layer < this.layers.length; layer++) {
+            int[] pixels = this.layers[layer];
+            int layerWidth = this.layerWidths[layer];
+            int offset = this.layerOffsets[layer];
+            int startX = Math.max(0, offset);
+            int endX = Math.min(this.width, offset + layerWidth);
+            if (startX >= endX) {
+                continue;
+            }
+            for (int y = startY; y < endY; y++) {
+                blendRow(pixels, y * layerWidth - offset + startX, frame, y * this.width + startX, endX - startX);
+            }
+        }
+    }
+
+    /**
+     * Blends a row of pixels over another one. Runs of opaque pixels are copied in one go
+     *
+     * @param src      pixels on top
+     * @param srcIndex index of the first pixel on top
+     * @param dst      pixels underneath, the result is written here
+     * @param dstIndex index of the first pixel underneath
+     * @param length   amount of pixels in the row
+     */
+    private static void blendRow(int[] src, int srcIndex, int[] dst, int dstIndex, int length) {
+        int x = 0;
+        while (x < length) {
+            int alpha = src[srcIndex + x] >>> 24;
+            if (alpha == 255) {
+                int end = x + 1;
+                while (end < length && src[srcIndex + end] >>> 24 == 255) {
+                    end++;
+                }
+                System.arraycopy(src, srcIndex + x, dst, dstIndex + x, end - x);
+                x = end;
+            } else {
+                if (alpha != 0) {
+                    dst[dstIndex + x] = blend(src[srcIndex + x], dst[dstIndex + x]);
+                }
+                x++;
+            }
+        }
+    }
+
+    /**
+     * Rows of a frame composited on a fork-join pool, split in half until they are short enough
+     */
+    private class Strip extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frame;
+        private final int startY, endY;
+
+        private Strip(int[] frame, int startY, int endY) {
+            this.frame = frame;
+            this.startY = startY;
+            this.endY = endY;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.endY - this.startY <= STRIP_ROWS) {
+                SoftwareRenderer.this.composite(this.frame, this.startY, this.endY);
+                return;
+            }
+            int middleY = (this.startY + this.endY) >>> 1;
+            invokeAll(new Strip(this.frame, this.startY, middleY), new Strip(this.frame, middleY, this.endY));
+        }
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the premultiplied pixels of a texture, reading them the first time the texture is drawn
+     *
+     * @param texture the texture
+     * @return pixels of the texture, row by row
+     */
+    private static int[] getPixels(Image texture) {
+        int[] pixels = texturePixels.get(texture);
+        if (pixels == null) {
+            int width = (int) texture.getWidth();
+            int height = (int) texture.getHeight();
+            pixels = new int[width * height];
+            texture.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+            texturePixels.put(texture, pixels);
+        }
+        return pixels;
+    }
+
+    /**
+     * Blends a premultiplied pixel over another one
+     *
+     * @param src the pixel on top
+     * @param dst the pixel underneath
+     * @return the blended pixel
+     */
+    private static int blend(int src, int dst) {
+        int inverse = 255 - (src >>> 24);
+        int result = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            int channel = ((src >>> shift) & 0xff) + ((dst >>> shift) & 0xff) * inverse / 255;
+            result |= Math.min(channel, 255) << shift;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a color as a premultiplied pixel
+     *
+     * @param color the color
+     * @return the pixel
+     */
+    private static int toPremultiplied(Color color) {
+        int alpha = (int) Math.round(color.getOpacity() * 255);
+        int red = (int) Math.round(color.getRed() * alpha);
+        int green = (int) Math.round(color.getGreen() * alpha);
+        int blue = (int) Math.round(color.getBlue() * alpha);
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+}
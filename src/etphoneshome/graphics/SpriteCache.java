@@ -0,0 +1,154 @@
+package etphoneshome.graphics;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.Image;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class is the single place sprites are decoded. Every {@code SpriteURL} is decoded once and the same
+ * {@code Image} is handed out on every later request, and {@code DecodedImageCache} keeps the decoded pixels on disk
+ * so later runs of the game don't decode them at all. Using preloadAll decodes the whole {@code SpriteURL} set
+ * up front so the game loop never has to. Using getImage returns the decoded image of a sprite. Using getHits and
+ * getMisses returns how many requests were served from the cache and how many needed a decode.
+ */
+public class SpriteCache {
+
+    private static JFXPanel jfxPanel = new JFXPanel(); //this is needed for the class to run since there is an image attached
+
+    /**
+     * decoded images, keyed by the sprite they were decoded from
+     */
+    private static final Map<SpriteURL, Image> images = new EnumMap<>(SpriteURL.class);
+
+    /**
+     * decoded images that are not part of {@code SpriteURL} (e.g. level backgrounds), keyed by their path
+     */
+    private static final Map<String, Image> otherImages = new HashMap<>();
+
+    /**
+     * counters of cache hits and misses
+     */
+    private static long hits, misses;
+
+    /**
+     * Decodes every {@code SpriteURL} that has a file associated with it
+     */
+    public static void preloadAll() {
+        for (SpriteURL spriteURL : SpriteURL.values()) {
+            if (spriteURL.hasPath()) {
+                getImage(spriteURL);
+            }
+        }
+    }
+
+    /**
+     * Returns the decoded image of the given sprite, decoding it the first time it is asked for
+     *
+     * @param spriteURL the sprite to get the image of
+     * @return the decoded image of the sprite, or null if the sprite has no file associated with it
+     */
+    public static synchronized Image getImage(SpriteURL spriteURL) {
+        Image image = images.get(spriteURL);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+        if (!spriteURL.hasPath()) {
+            return null;
+        }
+        misses++;
+        image = DecodedImageCache.load(spriteURL.getPath());
+        images.put(spriteURL, image);
+        return image;
+    }
+
+    /**
+     * Returns the decoded image with the given path, decoding it the first time it is asked for. Paths of a
+     * {@code SpriteURL} share their image with that sprite. These images are large, so they are decoded without
+     * holding the cache and a background loading one doesn't hold up sprites asked for on other threads
+     *
+     * @param path the path of the image
+     * @return the decoded image with the given path
+     */
+    public static Image getImage(String path) {
+        SpriteURL spriteURL = SpriteURL.fromPath(path);
+        if (spriteURL != null) {
+            return getImage(spriteURL);
+        }
+        synchronized (SpriteCache.class) {
+            Image image = otherImages.get(path);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+            misses++;
+        }
+        Image image = DecodedImageCache.load(path);
+        synchronized (SpriteCache.class) {
+            //another thread may have decoded it at the same time, everyone gets the same image
+            Image decoded = otherImages.putIfAbsent(path, image);
+            return decoded == null ? image : decoded;
+        }
+    }
+
+    /**
+     * Decodes an image without keeping it, for images that are kept elsewhere, e.g. by {@code AssetManager}. Paths of a
+     * {@code SpriteURL} share their image with that sprite
+     *
+     * @param path the path of the image
+     * @return the decoded image
+     */
+    public static Image decode(String path) {
+        SpriteURL spriteURL = SpriteURL.fromPath(path);
+        if (spriteURL != null) {
+            return getImage(spriteURL);
+        }
+        synchronized (SpriteCache.class) {
+            misses++;
+        }
+        return DecodedImageCache.load(path);
+    }
+
+    /**
+     * Returns the amount of requests that were served without decoding
+     *
+     * @return the amount of cache hits
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the amount of requests that needed an image to be decoded
+     *
+     * @return the amount of cache misses
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters
+     */
+    public static synchronized void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public static void main(String[] args) {
+        SpriteCache.preloadAll();
+        int sprites = 0;
+        for (SpriteURL spriteURL : SpriteURL.values()) {
+            if (spriteURL.hasPath()) {
+                sprites++;
+            }
+        }
+        System.out.println("Testing a decode per sprite with an image. Should be true: " + (SpriteCache.getMisses() == sprites));
+        Image heart = SpriteCache.getImage(SpriteURL.HEART);
+        System.out.println("Should be true: " + (heart == SpriteCache.getImage(SpriteURL.HEART.getPath())));
+        System.out.println("Hits. Should be 2: " + SpriteCache.getHits());
+    }
+}
@@ -8,18 +8,12 @@ public enum SpriteURL {
     RIGHT_END_PLATFORM("images/sprites/obstacles/platform/rightEndPlatform.png"),
     SINGLE_PLATFORM("images/sprites/obstacles/platform/singlePlatform.png"),
     PLACEHOLDER_SPRITE("images/sprites/entities/PLACEHOLDERSPRITE.jpg"),
-    ET_LEFT("images/sprites/entities/character/et_sprite_left.png"),
-    ET_RIGHT("images/sprites/entities/character/et_sprite_right.png"),
-    ET_HURT_LEFT("images/sprites/entities/character/et_hurt_sprite_left.png"),
-    ET_HURT_RIGHT("images/sprites/entities/character/et_hurt_sprite_right.png"),
-    POLICE_LEFT("images/sprites/entities/enemies/police_sprite_left.png"),
-    POLICE_RIGHT("images/sprites/entities/enemies/police_sprite_right.png"),
-    POLICE_HURT_LEFT("images/sprites/entities/enemies/police_hurt_sprite_left.png"),
-    POLICE_HURT_RIGHT("images/sprites/entities/enemies/police_hurt_sprite_right.png"),
-    SCIENTIST_LEFT("images/sprites/entities/enemies/scientist_sprite_left.png"),
-    SCIENTIST_RIGHT("images/sprites/entities/enemies/scientist_sprite_right.png"),
-    SCIENTIST_HURT_LEFT("images/sprites/entities/enemies/scientist_hurt_sprite_left.png"),
-    SCIENTIST_HURT_RIGHT("images/sprites/entities/enemies/scientist_hurt_sprite_right.png"),
+    ET("images/sprites/entities/character/et_sprite_right.png"),
+    ET_HURT("images/sprites/entities/character/et_hurt_sprite_right.png"),
+    POLICE("images/sprites/entities/enemies/police_sprite_right.png"),
+    POLICE_HURT("images/sprites/entities/enemies/police_hurt_sprite_right.png"),
+    SCIENTIST("images/sprites/entities/enemies/scientist_sprite_right.png"),
+    SCIENTIST_HURT("images/sprites/entities/enemies/scientist_hurt_sprite_right.png"),
     PHONE("images/sprites/phone.png"),
     PHONE_ANTENNA("images/sprites/collectibles/phone pieces/phoneAntenna.png"),
     PHONE_CHASSIS("images/sprites/collectibles/phone pieces/phoneChassis.png"),
@@ -46,4 +40,28 @@ public enum SpriteURL {
     public String getPath() {
         return this.path;
     }
+
+    /**
+     * Returns true if there is a file associated with this sprite
+     *
+     * @return true if the path of the sprite is not empty
+     */
+    public boolean hasPath() {
+        return !this.path.isEmpty();
+    }
+
+    /**
+     * Returns the sprite with the given path
+     *
+     * @param path path of the sprite
+     * @return the sprite with the given path, or null if no sprite has that path
+     */
+    public static SpriteURL fromPath(String path) {
+        for (SpriteURL spriteURL : SpriteURL.values()) {
+            if (spriteURL.hasPath() && spriteURL.getPath().equals(path)) {
+                return spriteURL;
+            }
+        }
+        return null;
+    }
 }
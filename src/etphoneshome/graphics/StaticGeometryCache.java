@@ -0,0 +1,254 @@
+package etphoneshome.graphics;
+
+import etphoneshome.objects.Hitbox;
+import etphoneshome.objects.Obstacle;
+import etphoneshome.objects.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class pre-renders the static geometry of a level (every {@code Obstacle}) into off-screen chunks that are
+ * {@code CHUNK_WIDTH} pixels wide, so the renderer only has to draw the one or two chunks in view instead of walking
+ * every obstacle of the level. Chunks are built on a background thread the first time they are asked for and the
+ * least recently used chunks are dropped once there are more than {@code MAX_CHUNKS}.
+ */
+public class StaticGeometryCache {
+
+    /**
+     * width of a chunk and the amount of chunks kept in memory
+     */
+    public static final int CHUNK_WIDTH = 1920;
+    private static final int MAX_CHUNKS = 4;
+
+    /**
+     * thread the chunks are built on
+     */
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "static-geometry-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * built chunks keyed by chunk index, ordered from least to most recently used
+     */
+    private final Map<Integer, Image> chunks = new LinkedHashMap<Integer, Image>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+            return this.size() > MAX_CHUNKS;
+        }
+    };
+
+    /**
+     * chunks that are waiting to be built
+     */
+    private final Set<Integer> pending = new HashSet<>();
+
+    /**
+     * obstacles the chunks are built from and the modification count of the list they were copied from
+     */
+    private List<Obstacle> obstacles = new ArrayList<>();
+    private int obstaclesVersion = -1;
+
+    /**
+     * increases every time the obstacles change so chunks of the old obstacles are thrown away
+     */
+    private int generation = 0;
+
+    /**
+     * top of the highest obstacle and bottom of the lowest one, which is the vertical range the chunks cover
+     */
+    private int minY, maxY;
+
+    /**
+     * Updates the obstacles the chunks are built from, throwing away every chunk if they changed
+     *
+     * @param obstacles         current obstacles of the level
+     * @param modificationCount modification count of the obstacle list
+     */
+    public synchronized void update(List<Obstacle> obstacles, int modificationCount) {
+        if (modificationCount == this.obstaclesVersion) {
+            return;
+        }
+        this.obstaclesVersion = modificationCount;
+        this.obstacles = new ArrayList<>(obstacles);
+        this.generation++;
+        this.chunks.clear();
+        this.pending.clear();
+
+        this.minY = Integer.MAX_VALUE;
+        this.maxY = Integer.MIN_VALUE;
+        for (Obstacle obstacle : this.obstacles) {
+            Hitbox hitbox = obstacle.getHitbox();
+            this.minY = Math.min(this.minY, hitbox.getTopLeftCorner().getYcord());
+            this.maxY = Math.max(this.maxY, hitbox.getTopLeftCorner().getYcord() + hitbox.getHeight());
+        }
+    }
+
+    /**
+     * Returns the chunk with the given index, and starts building it if it isn't built yet
+     *
+     * @param index index of the chunk, chunk 0 covers the x coordinates 0 to {@code CHUNK_WIDTH}
+     * @return image of the chunk, or null if it isn't built yet
+     */
+    public synchronized Image getChunk(int index) {
+        Image chunk = this.chunks.get(index);
+        if (chunk == null) {
+            this.prefetch(index);
+        }
+        return chunk;
+    }
+
+    /**
+     * Starts building the chunk with the given index if it isn't built or being built
+     *
+     * @param index index of the chunk
+     */
+    public synchronized void prefetch(int index) {
+        if (this.obstacles.isEmpty() || this.chunks.containsKey(index) || this.pending.contains(index)) {
+            return;
+        }
+        this.pending.add(index);
+        List<Obstacle> obstacles = this.obstacles;
+        int generation = this.generation, minY = this.minY, maxY = this.maxY;
+        this.builder.execute(() -> {
+            Image chunk = build(obstacles, index, minY, maxY);
+            synchronized (this) {
+                if (generation == this.generation) {
+                    this.pending.remove(index);
+                    this.chunks.put(index, chunk);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the y coordinate the chunks should be drawn at
+     *
+     * @return top of the highest obstacle
+     */
+    public synchronized int getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Returns true if there is geometry to draw
+     *
+     * @return true if the level has at least one obstacle
+     */
+    public synchronized boolean hasGeometry() {
+        return !this.obstacles.isEmpty();
+    }
+
+    /**
+     * Returns the index of the chunk containing the given x coordinate
+     *
+     * @param xCord x coordinate in the level
+     * @return index of the chunk
+     */
+    public static int getChunkIndex(int xCord) {
+        return Math.floorDiv(xCord, CHUNK_WIDTH);
+    }
+
+    /**
+     * Renders every obstacle overlapping a chunk into a new image
+     *
+     * @param obstacles obstacles of the level
+     * @param index     index of the chunk
+     * @param minY      top of the chunk
+     * @param maxY      bottom of the chunk
+     * @return image of the chunk
+     */
+    private static Image build(List<Obstacle> obstacles, int index, int minY, int maxY) {
+        int height = maxY - minY;
+        int chunkX = index * CHUNK_WIDTH;
+        int[] pixels = new int[CHUNK_WIDTH * height];
+
+        for (Obstacle obstacle : obstacles) {
+            Hitbox hitbox = obstacle.getHitbox();
+            int xCord = hitbox.getTopLeftCorner().getXcord();
+            if (xCord + hitbox.getWidth() <= chunkX || xCord >= chunkX + CHUNK_WIDTH) {
+                continue;
+            }
+
+            if (obstacle instanceof Platform) {
+                Image strip = PlatformStrips.getStrip(((Platform) obstacle).getLength());
+                draw(pixels, height, strip, xCord - chunkX, hitbox.getTopLeftCorner().getYcord() - minY);
+            } else {
+                //generic obstacles are tiled with the generic obstacle sprite across their hitbox
+                Image sprite = SpriteCache.getImage(SpriteURL.GENERIC_OBSTACLE);
+                for (int x = 0; x < hitbox.getWidth(); x += (int) sprite.getWidth()) {
+                    for (int y = 0; y < hitbox.getHeight(); y += (int) sprite.getHeight()) {
+                        draw(pixels, height, sprite, xCord - chunkX + x, hitbox.getTopLeftCorner().getYcord() - minY + y);
+                    }
+                }
+            }
+        }
+
+        WritableImage chunk = new WritableImage(CHUNK_WIDTH, height);
+        chunk.getPixelWriter().setPixels(0, 0, CHUNK_WIDTH, height, PixelFormat.getIntArgbInstance(), pixels, 0, CHUNK_WIDTH);
+        return chunk;
+    }
+
+    /**
+     * Draws an image over the pixels of a chunk, blending it with what is already there
+     *
+     * @param pixels pixels of the chunk
+     * @param height height of the chunk
+     * @param image  image to draw
+     * @param dstX   x coordinate in the chunk to draw the image at
+     * @param dstY   y coordinate in the chunk to draw the image at
+     */
+    private static void draw(int[] pixels, int height, Image image, int dstX, int dstY) {
+        int width = (int) image.getWidth();
+        int imageHeight = (int) image.getHeight();
+        int[] source = new int[width * imageHeight];
+        image.getPixelReader().getPixels(0, 0, width, imageHeight, PixelFormat.getIntArgbInstance(), source, 0, width);
+
+        for (int y = Math.max(0, -dstY); y < imageHeight && dstY + y < height; y++) {
+            for (int x = Math.max(0, -dstX); x < width && dstX + x < CHUNK_WIDTH; x++) {
+                int src = source[y * width + x];
+                int alpha = src >>> 24;
+                if (alpha == 0) {
+                    continue;
+                }
+                int index = (dstY + y) * CHUNK_WIDTH + dstX + x;
+                pixels[index] = alpha == 255 ? src : blend(src, pixels[index]);
+            }
+        }
+    }
+
+    /**
+     * Blends a translucent pixel over another pixel
+     *
+     * @param src the translucent pixel
+     * @param dst the pixel underneath
+     * @return the blended pixel
+     */
+    private static int blend(int src, int dst) {
+        int srcAlpha = src >>> 24;
+        int dstAlpha = dst >>> 24;
+        int outAlpha = srcAlpha + dstAlpha * (255 - srcAlpha) / 255;
+        if (outAlpha == 0) {
+            return 0;
+        }
+        int result = outAlpha << 24;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            int srcChannel = (src >> shift) & 0xff;
+            int dstChannel = (dst >> shift) & 0xff;
+            int channel = (srcChannel * srcAlpha + dstChannel * dstAlpha * (255 - srcAlpha) / 255) / outAlpha;
+            result |= channel << shift;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,204 @@
+package etphoneshome.graphics;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * This class holds the atlas pages the sprites of the game are packed into. Using getRegion returns the rectangle of
+ * a page that holds a sprite, so the sprite can be drawn with the 9 argument {@code drawImage} and every sprite on
+ * a page shares one texture. Using load reads the atlas built by {@code AtlasPacker} and packs a new one in memory if
+ * there is none.
+ */
+public class TextureAtlas {
+
+    /**
+     * location of the atlas index and pages written by {@code AtlasPacker}
+     */
+    public static final String ATLAS_DIRECTORY = "images/atlas/";
+    public static final String INDEX_PATH = ATLAS_DIRECTORY + "atlas.txt";
+
+    /**
+     * atlas shared by everything that draws the game, loaded the first time it is asked for
+     */
+    private static TextureAtlas shared;
+
+    /**
+     * pages of the atlas
+     */
+    private final List<Image> pages;
+
+    /**
+     * regions of the atlas keyed by the sprite they hold, and by the decoded image of that sprite
+     */
+    private final Map<SpriteURL, AtlasRegion> regions = new EnumMap<>(SpriteURL.class);
+    private final Map<Image, AtlasRegion> imageRegions = new IdentityHashMap<>();
+
+    /**
+     * Constructor that sets the pages of the atlas
+     *
+     * @param pages pages of the atlas
+     */
+    public TextureAtlas(List<Image> pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Adds the region of a sprite to the atlas
+     *
+     * @param spriteURL sprite the region holds
+     * @param region    region of the sprite
+     */
+    public void addRegion(SpriteURL spriteURL, AtlasRegion region) {
+        this.regions.put(spriteURL, region);
+        this.imageRegions.put(SpriteCache.getImage(spriteURL), region);
+    }
+
+    /**
+     * Returns the region holding the given sprite
+     *
+     * @param spriteURL the sprite
+     * @return region of the sprite, or null if the sprite is not in the atlas
+     */
+    public AtlasRegion getRegion(SpriteURL spriteURL) {
+        return this.regions.get(spriteURL);
+    }
+
+    /**
+     * Returns the region holding the given image. Only images handed out by {@code SpriteCache} are found
+     *
+     * @param image the decoded image of a sprite
+     * @return region of the image, or null if the image is not in the atlas
+     */
+    public AtlasRegion getRegion(Image image) {
+        return this.imageRegions.get(image);
+    }
+
+    /**
+     * Returns the pages of the atlas
+     *
+     * @return pages of the atlas
+     */
+    public List<Image> getPages() {
+        return this.pages;
+    }
+
+    /**
+     * Returns the atlas of the game sprites, loading it the first time
+     *
+     * @return the shared atlas
+     */
+    public static synchronized TextureAtlas getShared() {
+        if (shared == null) {
+            shared = load();
+        }
+        return shared;
+    }
+
+    /**
+     * Loads the atlas written by {@code AtlasPacker}, or packs one in memory if it can't be read
+     *
+     * @return the atlas of the game sprites
+     */
+    public static TextureAtlas load() {
+        InputStream index = TextureAtlas.class.getClassLoader().getResourceAsStream(INDEX_PATH);
+        if (index != null) {
+            try (Scanner scanner = new Scanner(index)) {
+                return read(scanner);
+            } catch (RuntimeException e) {
+                System.out.println("FAILED TO LOAD: " + INDEX_PATH + " (" + e.getMessage() + "), packing atlas in memory");
+            }
+        }
+        return AtlasPacker.pack();
+    }
+
+    /**
+     * Reads an atlas index. The first line is the amount of pages, every other line is a sprite followed by its
+     * page, x, y, width and height. An index that doesn't match the sprites of the game is stale and isn't used
+     *
+     * @param scanner scanner of the atlas index
+     * @return the atlas described by the index
+     */
+    private static TextureAtlas read(Scanner scanner) {
+        int pageCount = Integer.valueOf(scanner.nextLine().replace("pages: ", ""));
+        List<Image> pages = new ArrayList<>();
+        for (int i = 0; i < pageCount; i++) {
+            Image page = DecodedImageCache.load(ATLAS_DIRECTORY + getPageFileName(i));
+            if (page.isError()) {
+                throw new IllegalStateException("Missing atlas page " + i);
+            }
+            pages.add(page);
+        }
+
+        TextureAtlas atlas = new TextureAtlas(pages);
+        while (scanner.hasNextLine()) {
+            String line = scanner.nextLine();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.replace(":", "").split(" ");
+            int pageIndex = Integer.valueOf(parts[1]);
+            atlas.addRegion(SpriteURL.valueOf(parts[0]), new AtlasRegion(pageIndex, pages.get(pageIndex), Integer.valueOf(parts[2]), Integer.valueOf(parts[3]), Integer.valueOf(parts[4]), Integer.valueOf(parts[5])));
+        }
+        atlas.checkSprites();
+        return atlas;
+    }
+
+    /**
+     * Checks that the atlas holds every sprite that belongs in it at its current size, and nothing else
+     *
+     * @throws IllegalStateException if a sprite was added, removed or resized since the atlas was packed
+     */
+    private void checkSprites() {
+        List<SpriteURL> sprites = AtlasPacker.getAtlasSprites();
+        for (SpriteURL spriteURL : sprites) {
+            Image sprite = SpriteCache.getImage(spriteURL);
+            AtlasRegion region = this.regions.get(spriteURL);
+            if (region == null ? AtlasPacker.fits(sprite)
+                    : region.getWidth() != (int) sprite.getWidth() || region.getHeight() != (int) sprite.getHeight()) {
+                throw new IllegalStateException("Stale atlas index, " + spriteURL + " changed");
+            }
+        }
+        for (SpriteURL spriteURL : this.regions.keySet()) {
+            if (!sprites.contains(spriteURL)) {
+                throw new IllegalStateException("Stale atlas index, " + spriteURL + " is no longer in the atlas");
+            }
+        }
+    }
+
+    /**
+     * Writes the index of this atlas
+     *
+     * @param appendable where to write the index to
+     * @throws IOException if the index can't be written
+     */
+    public void writeIndex(Appendable appendable) throws IOException {
+        appendable.append("pages: ").append(String.valueOf(this.pages.size())).append(System.lineSeparator());
+        for (Map.Entry<SpriteURL, AtlasRegion> entry : this.regions.entrySet()) {
+            AtlasRegion region = entry.getValue();
+            appendable.append(entry.getKey().name()).append(": ")
+                    .append(String.valueOf(region.getPageIndex())).append(" ")
+                    .append(String.valueOf(region.getX())).append(" ")
+                    .append(String.valueOf(region.getY())).append(" ")
+                    .append(String.valueOf(region.getWidth())).append(" ")
+                    .append(String.valueOf(region.getHeight())).append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Returns the file name of the page with the given index
+     *
+     * @param pageIndex index of the page
+     * @return file name of the page
+     */
+    public static String getPageFileName(int pageIndex) {
+        return "atlas-" + pageIndex + ".png";
+    }
+}
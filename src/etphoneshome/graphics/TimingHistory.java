@@ -0,0 +1,115 @@
+package etphoneshome.graphics;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the last few durations of something that happens over and over, e.g. frames or ticks. Durations
+ * are kept in a ring of preallocated slots, and percentiles are worked out in a second preallocated array, so
+ * measuring never makes garbage. Durations can be added on one thread and read on another.
+ */
+public class TimingHistory {
+
+    /**
+     * durations in nanoseconds, the slot the next one goes in and the amount kept
+     */
+    private final long[] samples;
+    private int next = 0;
+    private int count = 0;
+
+    /**
+     * copy of the durations that is sorted to work out percentiles
+     */
+    private final long[] sorted;
+
+    /**
+     * Constructor that sets how many durations are kept
+     *
+     * @param capacity amount of durations kept, older ones are dropped
+     */
+    public TimingHistory(int capacity) {
+        this.samples = new long[capacity];
+        this.sorted = new long[capacity];
+    }
+
+    /**
+     * Adds a duration, dropping the oldest one if the history is full
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public synchronized void add(long nanos) {
+        this.samples[this.next] = nanos;
+        this.next = (this.next + 1) % this.samples.length;
+        this.count = Math.min(this.count + 1, this.samples.length);
+    }
+
+    /**
+     * Returns a duration of the history
+     *
+     * @param index index of the duration, 0 is the oldest one kept
+     * @return the duration in nanoseconds
+     */
+    public synchronized long get(int index) {
+        int start = this.next - this.count + this.samples.length;
+        return this.samples[(start + index) % this.samples.length];
+    }
+
+    /**
+     * Returns the duration that the given fraction of durations are shorter than or as long as
+     *
+     * @param fraction fraction of durations, 0.5 gives the median
+     * @return the duration in nanoseconds, or 0 if there are none
+     */
+    public synchronized long getPercentile(double fraction) {
+        if (this.count == 0) {
+            return 0;
+        }
+        System.arraycopy(this.samples, 0, this.sorted, 0, this.count);
+        Arrays.sort(this.sorted, 0, this.count);
+        int index = (int) Math.ceil(fraction * this.count) - 1;
+        return this.sorted[Math.max(0, Math.min(this.count - 1, index))];
+    }
+
+    /**
+     * @return longest duration kept in nanoseconds, or 0 if there are none
+     */
+    public synchronized long getMax() {
+        long max = 0;
+        for (int i = 0; i < this.count; i++) {
+            max = Math.max(max, this.samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Drops every duration kept
+     */
+    public synchronized void clear() {
+        this.next = 0;
+        this.count = 0;
+    }
+
+    /**
+     * @return amount of durations kept
+     */
+    public synchronized int size() {
+        return this.count;
+    }
+
+    public int getCapacity() {
+        return this.samples.length;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        TimingHistory history = new TimingHistory(4);
+        for (int i = 1; i <= 6; i++) {
+            history.add(i * 10);
+        }
+        System.out.println("Testing size. Should be 4: " + history.size());
+        System.out.println("Testing oldest. Should be 30: " + history.get(0));
+        System.out.println("Testing newest. Should be 60: " + history.get(3));
+        System.out.println("Testing median. Should be 40: " + history.getPercentile(0.5));
+        System.out.println("Testing p99. Should be 60: " + history.getPercentile(0.99));
+        System.out.println("Testing max. Should be 60: " + history.getMax());
+    }
+}
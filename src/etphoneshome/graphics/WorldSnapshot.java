@@ -0,0 +1,401 @@
+package etphoneshome.graphics;
+
+import etphoneshome.UILauncher;
+import etphoneshome.entities.characters.Character;
+import etphoneshome.entities.enemies.Enemy;
+import etphoneshome.managers.AnimationManager;
+import etphoneshome.managers.LevelManager;
+import etphoneshome.managers.ObstacleManager;
+import etphoneshome.objects.Collectible;
+import etphoneshome.objects.Flask;
+import etphoneshome.objects.Hitbox;
+import etphoneshome.objects.Location;
+import etphoneshome.objects.Obstacle;
+import etphoneshome.objects.SortedIndex;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is everything the renderer needs to draw one tick of the game. The game thread captures a snapshot at
+ * the end of every tick and the JavaFX thread draws it, so the renderer never reads the managers while the game
+ * thread is changing them. A snapshot never changes once it is made.
+ */
+public class WorldSnapshot {
+
+    /**
+     * kinds of sprites in a snapshot, in the order they are drawn
+     */
+    public static final int CHARACTER = 0, ENEMY = 1, COLLECTIBLE = 2, FLASK = 3;
+
+    /**
+     * distance past each edge of the view that enemies and collectibles are captured in, so ones coming into view
+     * are in both snapshots a frame is interpolated between
+     */
+    private static final int CAPTURE_MARGIN = 240;
+
+    /**
+     * tick of the game the snapshot was captured on, and the {@code System.nanoTime} the tick ended at
+     */
+    private final long tick, time;
+
+    /**
+     * sprites of the characters, enemies, collectibles and flasks near the view with their level coordinates. The object each
+     * sprite belongs to is kept so the same object can be found in another snapshot. Sprites face right and are
+     * mirrored when the actor they belong to faces left
+     */
+    private final int spriteCount;
+    private final Image[] sprites;
+    private final Object[] spriteOwners;
+    private final int[] spriteX, spriteY, spriteKinds;
+    private final boolean[] spriteMirrored;
+
+    /**
+     * outlines of the hitboxes, only captured in debug mode
+     */
+    private final int hitboxCount;
+    private final int[] hitboxX, hitboxY, hitboxWidth, hitboxHeight;
+    private final Color[] hitboxColors;
+
+    /**
+     * state of the character
+     */
+    private final int characterX, characterY, health, score;
+    private final boolean dead, won;
+
+    /**
+     * state of the level
+     */
+    private final int levelNum, endCord, centerXCord, phonePiecesLeft;
+    private final boolean levelComplete, finishLineVisible;
+    private final SortedIndex<Obstacle> obstacles;
+    private final int obstaclesVersion;
+    private final List<ParallaxLayer> backgroundLayers;
+
+    /**
+     * Captures the state of the game. Must be called on the thread running the game
+     *
+     * @param tick     tick of the game
+     * @param time     {@code System.nanoTime} the tick ended at
+     * @param won      true if the player has won the level
+     * @param previous the snapshot of the last tick, its obstacles are reused if they haven't changed, may be null
+     * @param view     view of the level, only enemies, collectibles and hitboxes near it are captured
+     */
+    public WorldSnapshot(long tick, long time, boolean won, WorldSnapshot previous, Camera view) {
+        Character character = UILauncher.getCharacter();
+        LevelManager levelManager = UILauncher.getLevelManager();
+        ObstacleManager obstacleManager = UILauncher.getObstacleManager();
+        AnimationManager animationManager = UILauncher.getAnimationManager();
+        boolean debugMode = UILauncher.getDebugMode();
+
+        this.tick = tick;
+        this.time = time;
+        this.won = won;
+
+        //only what is near the view is captured, found in the sorted indices of the managers
+        int minX = view.getLeft() - CAPTURE_MARGIN;
+        int maxX = view.getRight() + CAPTURE_MARGIN;
+        List<Enemy> enemies = UILauncher.getEntityManager().getEnemiesInRange(minX, maxX, new ArrayList<>());
+        List<Collectible> collectibles = UILauncher.getCollectiblesManager().getCollectiblesInRange(minX, maxX, new ArrayList<>());
+        List<Obstacle> obstaclesInView = debugMode ? obstacleManager.getObstacleIndex().query(minX, maxX, new ArrayList<>()) : Collections.emptyList();
+        List<Flask> flasks = UILauncher.getFlaskManager().getFlaskList();
+        int capacity = 1 + enemies.size() + collectibles.size() + flasks.size();
+        this.sprites = new Image[capacity];
+        this.spriteOwners = new Object[capacity];
+        this.spriteX = new int[capacity];
+        this.spriteY = new int[capacity];
+        this.spriteKinds = new int[capacity];
+        this.spriteMirrored = new boolean[capacity];
+
+        int hitboxCapacity = debugMode ? capacity + obstaclesInView.size() : 0;
+        this.hitboxX = new int[hitboxCapacity];
+        this.hitboxY = new int[hitboxCapacity];
+        this.hitboxWidth = new int[hitboxCapacity];
+        this.hitboxHeight = new int[hitboxCapacity];
+        this.hitboxColors = new Color[hitboxCapacity];
+
+        int sprites = 0;
+        int hitboxes = 0;
+
+        //character sprite is the current animation frame or its sprite, mirrored if it is facing left
+        Image sprite = character.getEntitySprite();
+        if (animationManager.getCharacterAnimation() != null) {
+            sprite = animationManager.getCharacterAnimation().getSprite();
+        }
+        sprites = this.addSprite(sprites, CHARACTER, character, sprite, character.getLocation());
+        this.spriteMirrored[sprites - 1] = !character.isFacingRight();
+        if (debugMode) {
+            hitboxes = this.addHitbox(hitboxes, character.getLocation(), character.getEntitySprite(), Color.GREEN);
+        }
+
+        for (Enemy enemy : enemies) {
+            sprite = enemy.getEntitySprite();
+            if (animationManager.getEnemyDeathAnimation(enemy) != null) {
+                sprite = animationManager.getEnemyDeathAnimation(enemy).getSprite();
+            }
+            sprites = this.addSprite(sprites, ENEMY, enemy, sprite, enemy.getLocation());
+            this.spriteMirrored[sprites - 1] = !enemy.isFacingRight();
+            if (debugMode) {
+                hitboxes = this.addHitbox(hitboxes, enemy.getLocation(), enemy.getEntitySprite(), Color.RED);
+            }
+        }
+
+        for (Collectible collectible : collectibles) {
+            sprites = this.addSprite(sprites, COLLECTIBLE, collectible, collectible.getTheImage(), collectible.getLocation());
+            if (debugMode) {
+                hitboxes = this.addHitbox(hitboxes, collectible.getLocation(), collectible.getTheImage(), Color.YELLOW);
+            }
+        }
+
+        for (Flask flask : flasks) {
+            sprites = this.addSprite(sprites, FLASK, flask, flask.getSprite(), flask.getLocation());
+        }
+
+        if (debugMode) {
+            for (Obstacle obstacle : obstaclesInView) {
+                Hitbox hitbox = obstacle.getHitbox();
+                this.hitboxX[hitboxes] = obstacle.getLocation().getXcord();
+                this.hitboxY[hitboxes] = obstacle.getLocation().getYcord();
+                this.hitboxWidth[hitboxes] = hitbox.getWidth();
+                this.hitboxHeight[hitboxes] = hitbox.getHeight();
+                this.hitboxColors[hitboxes++] = Color.ORANGE;
+            }
+        }
+        this.spriteCount = sprites;
+        this.hitboxCount = hitboxes;
+
+        this.characterX = character.getLocation().getXcord();
+        this.characterY = character.getLocation().getYcord();
+        this.health = character.getHealth();
+        this.score = character.getScore();
+        this.dead = character.getIsDead();
+
+        this.levelNum = levelManager.getCurrentLevel().getLevelNum();
+        this.endCord = levelManager.getCurrentLevel().getEndCord();
+        this.centerXCord = UILauncher.getGameManager().getCenterXCord();
+        this.levelComplete = levelManager.isLevelComplete();
+        this.phonePiecesLeft = levelManager.getPhonePiecesLeft();
+        this.finishLineVisible = isFinishLineVisible(levelManager, this.characterX);
+        this.backgroundLayers = UILauncher.getBackgroundManager().getLayers();
+
+        //the obstacles only change when a level is loaded, so they are only copied then
+        this.obstaclesVersion = obstacleManager.getModificationCount();
+        if (previous != null && previous.obstaclesVersion == this.obstaclesVersion) {
+            this.obstacles = previous.obstacles;
+        } else {
+            this.obstacles = new SortedIndex<>(obstacleManager.getObstacleIndex());
+        }
+    }
+
+    /**
+     * Adds a sprite to the snapshot
+     *
+     * @param index    index to add the sprite at
+     * @param kind     kind of the sprite
+     * @param owner    object the sprite belongs to
+     * @param sprite   image of the sprite
+     * @param location location of the sprite in the level
+     * @return index of the next sprite
+     */
+    private int addSprite(int index, int kind, Object owner, Image sprite, Location location) {
+        this.sprites[index] = sprite;
+        this.spriteOwners[index] = owner;
+        this.spriteKinds[index] = kind;
+        this.spriteX[index] = location.getXcord();
+        this.spriteY[index] = location.getYcord();
+        return index + 1;
+    }
+
+    /**
+     * Adds the outline of a hitbox the size of an image to the snapshot
+     *
+     * @param index    index to add the hitbox at
+     * @param location top left corner of the hitbox in the level
+     * @param image    image the hitbox is the size of
+     * @param color    color of the outline
+     * @return index of the next hitbox
+     */
+    private int addHitbox(int index, Location location, Image image, Color color) {
+        this.hitboxX[index] = location.getXcord();
+        this.hitboxY[index] = location.getYcord();
+        this.hitboxWidth[index] = (int) image.getWidth();
+        this.hitboxHeight[index] = (int) image.getHeight();
+        this.hitboxColors[index] = color;
+        return index + 1;
+    }
+
+    /**
+     * Returns true if the finish line should be drawn, based off phone pieces collected and current level number.
+     * It only shows up once the character is close so it doesn't randomly "pop" into the window
+     *
+     * @param levelManager manager of the levels
+     * @param xCord        x coordinate of the character
+     * @return true if the finish line should be drawn
+     */
+    private static boolean isFinishLineVisible(LevelManager levelManager, int xCord) {
+        int levelNum = levelManager.getCurrentLevel().getLevelNum();
+        int phonePiecesLeft = levelManager.getPhonePiecesLeft();
+        if (levelManager.isLevelComplete()) { //when the background stops and player keeps moving
+            return true;
+        }
+        boolean allPiecesCollected = (phonePiecesLeft == 0 && (levelNum == 0 || levelNum == 3))
+                || (phonePiecesLeft == 2 && levelNum == 1)  //collected 1 phone piece
+                || (phonePiecesLeft == 1 && levelNum == 2); //collected 2 phone pieces
+        return allPiecesCollected && xCord >= levelManager.getCurrentLevel().getEndCord() - 1200;
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Returns the index of the sprite belonging to an object, used to find the same object in another snapshot
+     *
+     * @param owner the object the sprite belongs to
+     * @param hint  index to check first, since objects usually keep their index between ticks
+     * @return index of the sprite, or -1 if the object isn't in this snapshot
+     */
+    public int indexOfOwner(Object owner, int hint) {
+        if (hint < this.spriteCount && this.spriteOwners[hint] == owner) {
+            return hint;
+        }
+        for (int i = 0; i < this.spriteCount; i++) {
+            if (this.spriteOwners[i] == owner) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getSpriteCount() {
+        return this.spriteCount;
+    }
+
+    public Image getSprite(int index) {
+        return this.sprites[index];
+    }
+
+    public Object getSpriteOwner(int index) {
+        return this.spriteOwners[index];
+    }
+
+    public int getSpriteKind(int index) {
+        return this.spriteKinds[index];
+    }
+
+    /**
+     * Returns true if the sprite at an index is drawn mirrored
+     *
+     * @param index index of the sprite
+     * @return true if the sprite faces left
+     */
+    public boolean isSpriteMirrored(int index) {
+        return this.spriteMirrored[index];
+    }
+
+    public int getSpriteX(int index) {
+        return this.spriteX[index];
+    }
+
+    public int getSpriteY(int index) {
+        return this.spriteY[index];
+    }
+
+    public int getHitboxCount() {
+        return this.hitboxCount;
+    }
+
+    public int getHitboxX(int index) {
+        return this.hitboxX[index];
+    }
+
+    public int getHitboxY(int index) {
+        return this.hitboxY[index];
+    }
+
+    public int getHitboxWidth(int index) {
+        return this.hitboxWidth[index];
+    }
+
+    public int getHitboxHeight(int index) {
+        return this.hitboxHeight[index];
+    }
+
+    public Color getHitboxColor(int index) {
+        return this.hitboxColors[index];
+    }
+
+    public int getCharacterX() {
+        return this.characterX;
+    }
+
+    public int getCharacterY() {
+        return this.characterY;
+    }
+
+    public int getHealth() {
+        return this.health;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public boolean isDead() {
+        return this.dead;
+    }
+
+    public boolean isWon() {
+        return this.won;
+    }
+
+    public int getLevelNum() {
+        return this.levelNum;
+    }
+
+    public int getEndCord() {
+        return this.endCord;
+    }
+
+    public int getCenterXCord() {
+        return this.centerXCord;
+    }
+
+    public int getPhonePiecesLeft() {
+        return this.phonePiecesLeft;
+    }
+
+    public boolean isLevelComplete() {
+        return this.levelComplete;
+    }
+
+    public boolean isFinishLineVisible() {
+        return this.finishLineVisible;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return this.obstacles.getItems();
+    }
+
+    /**
+     * @return obstacles of the level sorted by x coordinate, to find the ones in a range
+     */
+    public SortedIndex<Obstacle> getObstacleIndex() {
+        return this.obstacles;
+    }
+
+    public int getObstaclesVersion() {
+        return this.obstaclesVersion;
+    }
+
+    public List<ParallaxLayer> getBackgroundLayers() {
+        return this.backgroundLayers;
+    }
+}
@@ -1,11 +1,14 @@
 package etphoneshome.listeners;
 
+import etphoneshome.UILauncher;
 import etphoneshome.entities.characters.Character;
+import etphoneshome.graphics.RenderMode;
 import etphoneshome.managers.*;
-import etphoneshome.objects.Direction;
 import etphoneshome.objects.Flask;
+import etphoneshome.objects.Session;
 import etphoneshome.objects.Velocity;
 import javafx.event.EventHandler;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
 /**
@@ -19,11 +22,6 @@ public class InputListener {
      */
     private Character character;
 
-    /**
-     * Stores backgroundManager to be used to update background velocity/location
-     */
-    private BackgroundManager backgroundManager;
-
     /**
      * Stores gameManager to be used to calculate ground level
      */
@@ -40,24 +38,21 @@ public class InputListener {
     private FlaskManager flaskManager;
 
     /**
-     * Used to update direction of character animation
+     * Keys held as bits of {@code Session}, set by the key events and read by the game thread once every tick
      */
-    private AnimationManager animationManager;
+    private volatile int pendingInput = 0;
 
     /**
      * Constructor for the class
      *
      * @param character         gives InputListener the character associated with InputListener
-     * @param backgroundManager stores the backgroundManager in order to use it later
      * @param gameManager       stores the gameManager object used to check the ground level
      */
-    public InputListener(Character character, BackgroundManager backgroundManager, GameManager gameManager, LevelManager levelManager, FlaskManager flaskManager, AnimationManager animationManager) {
+    public InputListener(Character character, GameManager gameManager, LevelManager levelManager, FlaskManager flaskManager) {
         this.character = character;
-        this.backgroundManager = backgroundManager;
         this.gameManager = gameManager;
         this.levelManager = levelManager;
         this.flaskManager = flaskManager;
-        this.animationManager = animationManager;
     }
 
     /**
@@ -69,8 +64,31 @@ public class InputListener {
         this.character = character;
     }
 
+    /**
+     * Marks a key as held or released, the game sees it at the start of the next tick
+     *
+     * @param key  bit of the key in {@code Session}, e.g. {@code Session.RIGHT}
+     * @param held whether the key is held
+     */
+    public synchronized void setHeld(int key, boolean held) {
+        this.pendingInput = held ? this.pendingInput | key : this.pendingInput & ~key;
+    }
+
+    /**
+     * Returns the keys held
+     *
+     * @return bits of the keys held, as in {@code Session}
+     */
+    public int getPendingInput() {
+        return this.pendingInput;
+    }
+
     public static void main(String[] args) {
-        // add new testing code
+        InputListener inputListener = new InputListener(null, null, null, null);
+        inputListener.setHeld(Session.RIGHT, true);
+        inputListener.setHeld(Session.UP, true);
+        inputListener.setHeld(Session.UP, false);
+        System.out.println("Testing held keys. Should be true: " + (inputListener.getPendingInput() == Session.RIGHT));
     }
 
 
@@ -84,16 +102,24 @@ public class InputListener {
         return new EventHandler<KeyEvent>() {
             @Override
             public void handle(KeyEvent e) {
+                //shows or hides the performance overlay
+                if (e.getCode() == KeyCode.F3) {
+                    UILauncher.setPerformanceOverlay(!UILauncher.getPerformanceOverlay());
+                }
+                //switches between drawing the level on canvases and as a scene graph, the software renderer has no scene graph
+                if (e.getCode() == KeyCode.F4 && !UILauncher.getSoftwareRendering()) {
+                    UILauncher.setRenderMode(UILauncher.getRenderMode() == RenderMode.CANVAS ? RenderMode.SCENE_GRAPH : RenderMode.CANVAS);
+                }
                 if (!levelManager.isLevelComplete()) {
                     String input = e.getText().toLowerCase();
                     if (input.equals("w") || input.equals("up")) {
-                        character.setHoldingUp(true);
+                        setHeld(Session.UP, true);
                     }
                     if (input.equals("a") || input.equals("left")) {
-                        character.setHoldingLeft(true);
+                        setHeld(Session.LEFT, true);
                     }
                     if (input.equals("d") || input.equals("right")) {
-                        character.setHoldingRight(true);
+                        setHeld(Session.RIGHT, true);
                     }
                 }
             }
@@ -113,13 +139,13 @@ public class InputListener {
                 if (!levelManager.isLevelComplete()) {
                     String input = e.getText().toLowerCase();
                     if (input.equals("w")) {
-                        character.setHoldingUp(false);
+                        setHeld(Session.UP, false);
                     }
                     if (input.equals("a")) {
-                        character.setHoldingLeft(false);
+                        setHeld(Session.LEFT, false);
                     }
                     if (input.equals("d")) {
-                        character.setHoldingRight(false);
+                        setHeld(Session.RIGHT, false);
                     }
                 }
             }
@@ -134,14 +160,8 @@ public class InputListener {
 
         //gets direction the character is facing
         if (velocity.getHorizontalVelocity() > 0) {
-            if (!this.character.isFacingRight()) {
-                animationManager.flipCharacterAnimationFrames(Direction.EAST);
-            }
             this.character.setFacingRight(true);
         } else if (velocity.getHorizontalVelocity() < 0) {
-            if (this.character.isFacingRight()) {
-                animationManager.flipCharacterAnimationFrames(Direction.WEST);
-            }
             this.character.setFacingRight(false);
         }
 
@@ -171,7 +191,6 @@ public class InputListener {
             velocity.setVerticalVelocity(-20);
         }
 
-        this.updateBackgroundVelocity();
         this.updateFlaskVelocities();
 
     }
@@ -181,13 +200,6 @@ public class InputListener {
             flask.getVelocity().changeVerticalVelocity(1);
         }
     }
-
-    /**
-     * moves the background of the stage
-     */
-    public void updateBackgroundVelocity() {
-        backgroundManager.getBackgroundVelocity().setHorizontalVelocity(this.character.getVelocity().getHorizontalVelocity() / -2.0);
-    }
 }
 
 
@@ -5,7 +5,6 @@ import etphoneshome.entities.enemies.Police;
 import etphoneshome.entities.enemies.Scientist;
 import etphoneshome.graphics.Animation;
 import etphoneshome.graphics.AnimationFrames;
-import etphoneshome.objects.Direction;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,17 +32,6 @@ public class AnimationManager {
         }
     }
 
-    public void flipCharacterAnimationFrames(Direction direction) {
-        if (this.characterAnimation != null) {
-            String animationFramesName = this.characterAnimation.getAnimationFrames().name();
-            if (direction == Direction.WEST) {
-                this.characterAnimation.setAnimationFrames(AnimationFrames.valueOf(animationFramesName.replace("RIGHT", "LEFT")));
-            } else if (direction == Direction.EAST) {
-                this.characterAnimation.setAnimationFrames(AnimationFrames.valueOf(animationFramesName.replace("LEFT", "RIGHT")));
-            }
-        }
-    }
-
     public void setCharacterAnimation(Animation characterAnimation) {
         this.characterAnimation = characterAnimation;
     }
@@ -54,17 +42,9 @@ public class AnimationManager {
 
     public void addEnemyDeathAnimation(Enemy enemy) {
         if (enemy instanceof Police && !enemy.getIsDead()) {
-            if (enemy.isFacingRight()) {
-                this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.POLICE_DEATH_RIGHT));
-            } else {
-                this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.POLICE_DEATH_LEFT));
-            }
+            this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.POLICE_DEATH));
         } else if (enemy instanceof Scientist && !enemy.getIsDead()) {
-            if (enemy.isFacingRight()) {
-                this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.SCIENTIST_DEATH_RIGHT));
-            } else {
-                this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.SCIENTIST_DEATH_LEFT));
-            }
+            this.enemyDeathAnimations.put(enemy, new Animation(AnimationFrames.SCIENTIST_DEATH));
         }
     }
 
@@ -0,0 +1,288 @@
+package etphoneshome.managers;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps large decoded images, e.g. background layers, within a budget of bytes of pixels. Every asset is
+ * kept under a key and is made of one or more images. Using acquire ties an asset to an owner such as a level so it is
+ * kept for as long as the owner needs it, and using release unties everything from an owner. Assets without owners
+ * stay in memory in case they are needed again, until the budget is used up, then the ones used longest ago are
+ * dropped first. Using getResidency returns what is in memory.
+ * <p>
+ * An asset with owners is never dropped, so the budget can be overrun while the owned assets don't fit in it.
+ */
+public class AssetManager {
+
+    /**
+     * budget used unless another one is given, enough for a few full screen backgrounds
+     */
+    public static final long DEFAULT_BUDGET = 128L * 1024 * 1024;
+
+    /**
+     * assets in memory, from used longest ago to used last
+     */
+    private final Map<String, Asset> assets = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * bytes of pixels that may be kept and that are kept
+     */
+    private long budget;
+    private long residentBytes = 0;
+
+    /**
+     * amount of assets that had to be loaded and that were dropped to stay within the budget
+     */
+    private long loads = 0, evictions = 0;
+
+    /**
+     * Constructor that sets the budget
+     *
+     * @param budget bytes of pixels that may be kept
+     */
+    public AssetManager(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Returns an asset and ties it to an owner, loading it if it isn't in memory
+     *
+     * @param key    key of the asset, e.g. the path of its image
+     * @param owner  the owner that needs the asset
+     * @param loader loads the images of the asset
+     * @return images of the asset
+     */
+    public Image[] acquire(String key, Object owner, Supplier<Image[]> loader) {
+        Asset asset = this.load(key, loader);
+        synchronized (this) {
+            //the asset may have been dropped between loading and tying it to the owner, it is put back
+            asset.owners.add(owner);
+            if (this.assets.get(key) != asset) {
+                this.put(key, asset);
+            }
+            return asset.images;
+        }
+    }
+
+    /**
+     * Returns an asset without tying it to an owner, loading it if it isn't in memory
+     *
+     * @param key    key of the asset
+     * @param loader loads the images of the asset
+     * @return images of the asset
+     */
+    public Image[] get(String key, Supplier<Image[]> loader) {
+        return this.load(key, loader).images;
+    }
+
+    /**
+     * Unties every asset from an owner, the assets no longer owned by anything are dropped once the budget is used up
+     *
+     * @param owner the owner
+     */
+    public synchronized void release(Object owner) {
+        for (Asset asset : this.assets.values()) {
+            asset.owners.remove(owner);
+        }
+        this.evict();
+    }
+
+    /**
+     * Returns an asset in memory, loading it if it isn't. Loading doesn't hold the manager, so other assets can be
+     * used while it loads
+     *
+     * @param key    key of the asset
+     * @param loader loads the images of the asset
+     * @return the asset
+     */
+    private Asset load(String key, Supplier<Image[]> loader) {
+        synchronized (this) {
+            Asset asset = this.assets.get(key);
+            if (asset != null) {
+                return asset;
+            }
+        }
+        Asset loaded = new Asset(loader.get());
+        synchronized (this) {
+            //another thread may have loaded it at the same time, everyone gets the same asset
+            Asset asset = this.assets.get(key);
+            if (asset != null) {
+                return asset;
+            }
+            this.loads++;
+            this.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Keeps an asset in memory and drops assets to stay within the budget
+     *
+     * @param key   key of the asset
+     * @param asset the asset
+     */
+    private void put(String key, Asset asset) {
+        Asset replaced = this.assets.put(key, asset);
+        if (replaced != null) {
+            this.residentBytes -= replaced.bytes;
+        }
+        this.residentBytes += asset.bytes;
+        this.evict();
+    }
+
+    /**
+     * Drops the assets without owners used longest ago until the assets kept fit in the budget, or only owned ones
+     * are left
+     */
+    private void evict() {
+        Iterator<Asset> iterator = this.assets.values().iterator();
+        while (this.residentBytes > this.budget && iterator.hasNext()) {
+            Asset asset = iterator.next();
+            if (asset.owners.isEmpty()) {
+                iterator.remove();
+                this.residentBytes -= asset.bytes;
+                this.evictions++;
+            }
+        }
+    }
+
+    /**
+     * Returns true if an asset is in memory, without counting it as used
+     *
+     * @param key key of the asset
+     * @return true if the asset is in memory
+     */
+    public synchronized boolean isResident(String key) {
+        return this.assets.containsKey(key);
+    }
+
+    /**
+     * Returns what is in memory, from used longest ago to used last
+     *
+     * @return a line per asset of its key, size in bytes and amount of owners
+     */
+    public synchronized List<Residency> getResidency() {
+        List<Residency> residency = new ArrayList<>();
+        for (Map.Entry<String, Asset> entry : this.assets.entrySet()) {
+            residency.add(new Residency(entry.getKey(), entry.getValue().bytes, entry.getValue().owners.size()));
+        }
+        return residency;
+    }
+
+    /**
+     * Changes the budget, dropping assets if they no longer fit
+     *
+     * @param budget bytes of pixels that may be kept
+     */
+    public synchronized void setBudget(long budget) {
+        this.budget = budget;
+        this.evict();
+    }
+
+    public synchronized long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * @return bytes of pixels of every asset in memory
+     */
+    public synchronized long getResidentBytes() {
+        return this.residentBytes;
+    }
+
+    /**
+     * @return amount of assets that had to be loaded
+     */
+    public synchronized long getLoads() {
+        return this.loads;
+    }
+
+    /**
+     * @return amount of assets dropped to stay within the budget
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        new JFXPanel();
+        //every asset is 40000 bytes, so two fit in the budget
+        AssetManager assetManager = new AssetManager(100000);
+        Supplier<Image[]> loader = () -> new Image[]{new WritableImage(100, 100)};
+        Object level0 = "level-0";
+        Object level1 = "level-1";
+        assetManager.acquire("a", level0, loader);
+        assetManager.acquire("b", level0, loader);
+        assetManager.acquire("c", level1, loader);
+        System.out.println("Owned assets are kept over the budget. Should be 3: " + assetManager.getResidency().size());
+        assetManager.release(level0);
+        System.out.println("Released assets are dropped to fit, oldest first. Should be false true: " + assetManager.isResident("a") + " " + assetManager.isResident("b"));
+        assetManager.get("d", loader);
+        System.out.println("Loading drops the oldest asset without owners. Should be false true: " + assetManager.isResident("b") + " " + assetManager.isResident("d"));
+        System.out.println("Loads and evictions. Should be 4 2: " + assetManager.getLoads() + " " + assetManager.getEvictions());
+        System.out.println(assetManager.getResidency());
+    }
+
+    /**
+     * An asset in memory, its size and the owners it is tied to
+     */
+    private static class Asset {
+
+        private final Image[] images;
+        private final long bytes;
+        private final Set<Object> owners = new HashSet<>();
+
+        private Asset(Image[] images) {
+            this.images = images;
+            long bytes = 0;
+            for (Image image : images) {
+                bytes += 4L * (long) image.getWidth() * (long) image.getHeight();
+            }
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * What is in memory of an asset, as returned by getResidency
+     */
+    public static class Residency {
+
+        private final String key;
+        private final long bytes;
+        private final int owners;
+
+        public Residency(String key, long bytes, int owners) {
+            this.key = key;
+            this.bytes = bytes;
+            this.owners = owners;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        public int getOwners() {
+            return this.owners;
+        }
+
+        @Override
+        public String toString() {
+            return this.key + " " + this.bytes + " bytes, " + this.owners + " owners";
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package etphoneshome.managers;
 
+import etphoneshome.UILauncher;
+import etphoneshome.graphics.AssetLoader;
 import etphoneshome.graphics.GraphicsRepainter;
+import etphoneshome.graphics.ParallaxLayer;
 import etphoneshome.objects.Level;
-import etphoneshome.objects.Location;
-import etphoneshome.objects.Velocity;
 import javafx.embed.swing.JFXPanel;
-import javafx.scene.image.Image;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BackgroundManager {
     JFXPanel jfxPanel = new JFXPanel(); //this is needed for the class to run since there is an image attached
@@ -25,65 +29,146 @@ public class BackgroundManager {
     }
 
     /**
-     * The velocity of the background which makes it look like you're actually moving
+     * The layers of the background from back to front, each scrolling at its own speed to make it look like you're
+     * actually moving
      */
-    private Velocity backgroundVelocity = new Velocity();
-    private Location backgroundLocation = new Location(0, 0);
-    private Image backgroundSprite = new Image("images/backgrounds/background.jpg");
+    private volatile List<ParallaxLayer> layers = new ArrayList<>();
 
     /**
-     * return velocity of background
-     *
-     * @return velocity of background
+     * Decodes and cuts the layer images off the game thread, and the layers being loaded (null once they are the
+     * layers of the background)
      */
-    public Velocity getBackgroundVelocity() {
-        return this.backgroundVelocity;
-    }
+    private final AssetLoader assetLoader = new AssetLoader();
+    private volatile List<ParallaxLayer> loadingLayers;
 
     /**
-     * returns location of background
-     *
-     * @return location of background
+     * level the layers were loaded for, their tiles are kept in memory for it until the next level is loaded
      */
-    public Location getBackgroundLocation() {
-        return this.backgroundLocation;
-    }
+    private Level owner;
 
     /**
-     * Loads the background of a specific level
+     * level the layers being loaded are for
+     */
+    private Level loadingOwner;
+
+    /**
+     * Loads the background layers of a specific level and cuts their images into tiles. Images that aren't in memory
+     * are loaded in the background, and the old layers stay until every layer is ready. Once they are, the tiles of
+     * the old layers are no longer needed and can be dropped by {@code AssetManager}
      *
      * @param level the level to load the background of
+     * @return future completed once the layers are the layers of the background
+     */
+    public CompletableFuture<List<ParallaxLayer>> loadBackground(Level level) {
+        List<ParallaxLayer> layers = level.getParallaxLayers();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[layers.size()];
+        for (int i = 0; i < layers.size(); i++) {
+            ParallaxLayer layer = layers.get(i);
+            if (layer.isLoaded()) {
+                layer.acquire(level);
+                futures[i] = CompletableFuture.completedFuture(layer);
+                continue;
+            }
+            futures[i] = this.assetLoader.load(() -> {
+                //a layer that can't be loaded is reported instead of stopping the level from starting
+                try {
+                    layer.acquire(level);
+                    layer.getWidth();
+                } catch (RuntimeException e) {
+                    System.out.println("FAILED TO LOAD: " + layer.getPath());
+                }
+                return layer;
+            });
+        }
+
+        synchronized (this) {
+            this.loadingLayers = layers;
+            this.loadingOwner = level;
+        }
+        return CompletableFuture.allOf(futures).thenApply(loaded -> {
+            //another level may have been loaded while these layers were
+            synchronized (this) {
+                if (this.loadingLayers == layers) {
+                    this.layers = layers;
+                    this.loadingLayers = null;
+                    this.loadingOwner = null;
+                    //playing the same level again keeps the same owner, which must keep its layers
+                    if (this.owner != null && this.owner != level) {
+                        UILauncher.getAssetManager().release(this.owner);
+                    }
+                    this.owner = level;
+                } else if (level != this.owner && level != this.loadingOwner) {
+                    UILauncher.getAssetManager().release(level);
+                }
+            }
+            return layers;
+        });
+    }
+
+    /**
+     * @return true while the layers of a level are being loaded
      */
-    public void loadBackground(Level level) {
-        this.backgroundSprite = new Image(level.getBackgroundFilePath());
+    public boolean isLoading() {
+        return this.loadingLayers != null;
     }
 
+    /**
+     * @return fraction of the layer images being loaded that are ready
+     */
+    public double getLoadingProgress() {
+        return this.assetLoader.getProgress();
+    }
 
     /**
-     * Returns the backgroundSprite
+     * Returns the background layers from back to front
      *
-     * @return backgroundSprite
+     * @return layers of the background
      */
-    public Image getBackgroundSprite() {
-        return this.backgroundSprite;
+    public List<ParallaxLayer> getLayers() {
+        return this.layers;
     }
 
     /**
-     * updates velocity of the background
+     * Returns the x coordinate on screen a tile of a layer is drawn at, or {@code Integer.MIN_VALUE} if the tile is out
+     * of view. Since the layer image repeats, copy counts the copies of the image from the left edge of the view
+     *
+     * @param layer         the background layer
+     * @param cameraOffsetX amount the camera adds to a level coordinate to get its screen coordinate
+     * @param copy          copy of the layer image, starting at 0
+     * @param tile          index of the tile in the image
+     * @return x coordinate of the tile on screen
      */
-    public void updateBackgroundLocation() {
-        //gets initial velocity
-        int newX = this.backgroundLocation.getXcord() + (int) this.backgroundVelocity.getHorizontalVelocity();
-        int newY = this.backgroundLocation.getYcord() + (int) this.backgroundVelocity.getVerticalVelocity();
-
-        this.backgroundLocation = new Location(newX, newY);
-        if (newX <= this.graphicsRepainter.WIDTH * -2) {
-            newX = this.backgroundLocation.getXcord() + this.graphicsRepainter.WIDTH;
+    public int getTileX(ParallaxLayer layer, int cameraOffsetX, int copy, int tile) {
+        int x = layer.getStartX(cameraOffsetX) + copy * layer.getWidth() + tile * ParallaxLayer.TILE_WIDTH;
+        if (x >= this.graphicsRepainter.WIDTH || x + ParallaxLayer.TILE_WIDTH <= 0) {
+            return Integer.MIN_VALUE;
         }
-        this.backgroundLocation = new Location(newX, newY);
-        if (newX >= -this.graphicsRepainter.WIDTH) {
-            newX = this.backgroundLocation.getXcord() - this.graphicsRepainter.WIDTH;
+        return x;
+    }
+
+    /**
+     * Returns the amount of copies of a layer image needed to cover the screen
+     *
+     * @param layer the background layer
+     * @return amount of copies of the image
+     */
+    public int getCopies(ParallaxLayer layer) {
+        return this.graphicsRepainter.WIDTH / layer.getWidth() + 2;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        UILauncher.setAssetManager(new AssetManager(AssetManager.DEFAULT_BUDGET));
+        BackgroundManager backgroundManager = new BackgroundManager(new GraphicsRepainter());
+        Level level = new Level("level-0");
+        backgroundManager.loadBackground(level).join();
+        backgroundManager.loadBackground(level).join();
+        //with no budget left only the layers with an owner are kept
+        UILauncher.getAssetManager().setBudget(0);
+        boolean resident = !level.getParallaxLayers().isEmpty();
+        for (ParallaxLayer layer : level.getParallaxLayers()) {
+            resident &= layer.isLoaded();
         }
-        this.backgroundLocation = new Location(newX, newY);
+        System.out.println("Testing loading the same level twice keeps its layers. Should be true: " + resident);
     }
 }
@@ -5,6 +5,8 @@ import etphoneshome.objects.Collectible;
 import etphoneshome.objects.Level;
 import etphoneshome.objects.Location;
 import etphoneshome.objects.ReesesPieces;
+import etphoneshome.objects.SortedIndex;
+import etphoneshome.objects.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +21,18 @@ public class CollectiblesManager {
      */
     private final List<Collectible> collectibles = new ArrayList<Collectible>();
 
+    /**
+     * The collectibles sorted by x coordinate, so the ones in view can be found without checking all of them
+     */
+    private final SortedIndex<Collectible> collectibleIndex = new SortedIndex<>(collectible -> collectible.getLocation().getXcord(),
+            collectible -> collectible.getWidth());
+
+    /**
+     * The collectibles in a grid of the level, so the ones the character touches can be found without checking all
+     * of them
+     */
+    private final SpatialGrid<Collectible> collectibleGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, Collectible::getHitbox);
+
     /**
      * Method to add collectible to the list collectibles.
      *
@@ -26,7 +40,8 @@ public class CollectiblesManager {
      */
     public void addCollectible(Collectible collectible) {
         collectibles.add(collectible);
-
+        collectibleIndex.add(collectible);
+        collectibleGrid.add(collectible);
     }
 
     /**
@@ -36,7 +51,8 @@ public class CollectiblesManager {
      */
     public void removeCollectible(Collectible collectible) {
         collectibles.remove(collectible);
-
+        collectibleIndex.remove(collectible);
+        collectibleGrid.remove(collectible);
     }
 
     /**
@@ -48,6 +64,27 @@ public class CollectiblesManager {
         return this.collectibles;
     }
 
+    /**
+     * Adds the collectibles overlapping a range of x coordinates of the level to a list
+     *
+     * @param minX x coordinate of the left of the range
+     * @param maxX x coordinate of the right of the range
+     * @param into list the collectibles are added to
+     * @return the given list
+     */
+    public List<Collectible> getCollectiblesInRange(int minX, int maxX, List<Collectible> into) {
+        return this.collectibleIndex.query(minX, maxX, into);
+    }
+
+    /**
+     * Returns the collectibles in a grid of the level, to find the ones near a box or a point
+     *
+     * @return grid of the collectibles
+     */
+    public SpatialGrid<Collectible> getCollectibleGrid() {
+        return this.collectibleGrid;
+    }
+
     /**
      * Spawn num number of reeses pieces at random locations.
      *
@@ -71,7 +108,7 @@ public class CollectiblesManager {
     public void loadCollectibles(Level level) {
         this.clearCollectibles();
         for (Collectible collectible : level.getPhonePieces()) {
-            this.collectibles.add(collectible);
+            this.addCollectible(collectible);
         }
         this.spawnRandomReesesPieces(10);
     }
@@ -81,6 +118,8 @@ public class CollectiblesManager {
      */
     public void clearCollectibles() {
         this.collectibles.clear();
+        this.collectibleIndex.clear();
+        this.collectibleGrid.clear();
     }
 }
 
@@ -8,6 +8,8 @@ import etphoneshome.entities.enemies.Police;
 import etphoneshome.entities.enemies.Scientist;
 import etphoneshome.objects.Level;
 import etphoneshome.objects.Location;
+import etphoneshome.objects.SortedIndex;
+import etphoneshome.objects.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +31,17 @@ public class EntityManager {
      */
     private final List<Enemy> enemies = new ArrayList<>();
 
+    /**
+     * The enemies sorted by x coordinate, so the ones in view can be found without checking all of them
+     */
+    private final SortedIndex<Enemy> enemyIndex = new SortedIndex<>(enemy -> enemy.getLocation().getXcord(),
+            enemy -> (int) enemy.getEntitySprite().getWidth());
+
+    /**
+     * The enemies in a grid of the level, so the ones near the character can be found without checking all of them
+     */
+    private final SpatialGrid<Enemy> enemyGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, Enemy::getHitbox);
+
     /**
      * Constructor for the class
      *
@@ -45,6 +58,8 @@ public class EntityManager {
      */
     public void addEnemy(Enemy enemy) {
         enemies.add(enemy);
+        enemyIndex.add(enemy);
+        enemyGrid.add(enemy);
     }
 
     /**
@@ -54,6 +69,8 @@ public class EntityManager {
      */
     public void removeEnemy(Enemy enemy) {
         enemies.remove(enemy);
+        enemyIndex.remove(enemy);
+        enemyGrid.remove(enemy);
     }
 
     /**
@@ -65,6 +82,27 @@ public class EntityManager {
         return this.enemies;
     }
 
+    /**
+     * Adds the enemies overlapping a range of x coordinates of the level to a list
+     *
+     * @param minX x coordinate of the left of the range
+     * @param maxX x coordinate of the right of the range
+     * @param into list the enemies are added to
+     * @return the given list
+     */
+    public List<Enemy> getEnemiesInRange(int minX, int maxX, List<Enemy> into) {
+        return this.enemyIndex.query(minX, maxX, into);
+    }
+
+    /**
+     * Returns the enemies in a grid of the level, to find the ones near a box or a point
+     *
+     * @return grid of the enemies
+     */
+    public SpatialGrid<Enemy> getEnemyGrid() {
+        return this.enemyGrid;
+    }
+
     /**
      * Spawns {@code Enemy} in random locations around the map
      *
@@ -74,15 +112,15 @@ public class EntityManager {
         Random random = new Random();
         int xCord = UILauncher.getGraphicsRepainter().WIDTH / 2 + 70;
         for (double i = 0; i < amount; i++) {
-            xCord = random.nextInt(1920) + (int) new Police().getLeftEntitySprite().getWidth() + xCord;
+            xCord = random.nextInt(1920) + (int) new Police().getEntitySprite().getWidth() + xCord;
             double type = random.nextInt(2);
             Enemy enemy;
             if (type == 0) {
-                enemy = new Police(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getLeftEntitySprite().getHeight()));
+                enemy = new Police(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getEntitySprite().getHeight()));
             } else {
-                enemy = new Scientist(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getLeftEntitySprite().getHeight()));
+                enemy = new Scientist(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getEntitySprite().getHeight()));
             }
-            enemy.setLocation(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getLeftEntitySprite().getHeight()));
+            enemy.setLocation(new Location(xCord, UILauncher.getGraphicsRepainter().HEIGHT - 100 - (int) new Police().getEntitySprite().getHeight()));
             this.addEnemy(enemy);
         }
     }
@@ -95,7 +133,7 @@ public class EntityManager {
     public void loadEntities(Level level) {
         this.clearEntities();
         for (Enemy enemy : level.getEnemies()) {
-            this.enemies.add(enemy);
+            this.addEnemy(enemy);
         }
     }
 
@@ -104,6 +142,8 @@ public class EntityManager {
      */
     public void clearEntities() {
         this.enemies.clear();
+        this.enemyIndex.clear();
+        this.enemyGrid.clear();
     }
 
     /**
@@ -129,6 +169,8 @@ public class EntityManager {
         System.out.println("List should contain 11 enemies. Number of enemies: " + entityManager.enemies.size());
         entityManager.removeEnemy(testEnemy);
         System.out.println("List should contain 10 enemies. Number of enemies: " + entityManager.enemies.size());
+        System.out.println("Every enemy should be in range. Number of enemies: " + entityManager.getEnemiesInRange(0, Integer.MAX_VALUE, new ArrayList<>()).size());
+        System.out.println("Every enemy should be in the grid. Number of enemies: " + entityManager.getEnemyGrid().size());
         entityManager.getEnemyList();
     }
 
@@ -2,6 +2,7 @@ package etphoneshome.managers;
 
 import etphoneshome.entities.enemies.Scientist;
 import etphoneshome.objects.Flask;
+import etphoneshome.objects.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -21,6 +22,11 @@ public class FlaskManager {
     private final HashMap<Scientist, Flask> flaskMap = new HashMap<Scientist, Flask>();
     private final List<Flask> flasks = new ArrayList<Flask>();
 
+    /**
+     * The flasks in a grid of the level, so the ones near the character can be found without checking all of them
+     */
+    private final SpatialGrid<Flask> flaskGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, Flask::getHitbox);
+
     /**
      * add a flask to the {@code FlaskManager}
      *
@@ -29,6 +35,7 @@ public class FlaskManager {
     public void addFlask(Scientist scientist, Flask flask) {
         this.flaskMap.put(scientist, flask);
         this.flasks.add(flask);
+        this.flaskGrid.add(flask);
         scientist.setThrownFlask(true);
     }
 
@@ -46,6 +53,16 @@ public class FlaskManager {
             }
         }
         this.flasks.remove(flask);
+        this.flaskGrid.remove(flask);
+    }
+
+    /**
+     * Moves a flask to the cells of the grid it is in now, must be called every time a flask moves
+     *
+     * @param flask flask that moved
+     */
+    public void updateFlask(Flask flask) {
+        this.flaskGrid.update(flask);
     }
 
     /**
@@ -54,6 +71,7 @@ public class FlaskManager {
     public void clearFlasks() {
         this.flaskMap.clear();
         this.flasks.clear();
+        this.flaskGrid.clear();
     }
 
     /**
@@ -65,6 +83,15 @@ public class FlaskManager {
         return this.flasks;
     }
 
+    /**
+     * Returns the flasks in a grid of the level, to find the ones near a box or a point
+     *
+     * @return grid of the flasks
+     */
+    public SpatialGrid<Flask> getFlaskGrid() {
+        return this.flaskGrid;
+    }
+
     public static void main(String[] args) {
         // TODO Auto-generated method stub
 
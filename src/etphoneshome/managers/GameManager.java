@@ -1,6 +1,5 @@
 package etphoneshome.managers;
 
-import etphoneshome.UILauncher;
 import etphoneshome.entities.actor.Actor;
 import etphoneshome.entities.characters.Character;
 import etphoneshome.entities.characters.ET;
@@ -10,6 +9,7 @@ import etphoneshome.graphics.GraphicsRepainter;
 import etphoneshome.objects.*;
 import etphoneshome.sound.Sound;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +40,29 @@ public class GameManager {
 
     private Sound sound = new Sound();
 
+    /**
+     * things found near the character by the checks, reused every tick
+     */
+    private final List<Enemy> nearbyEnemies = new ArrayList<>();
+    private final List<Collectible> nearbyCollectibles = new ArrayList<>();
+    private final List<Flask> nearbyFlasks = new ArrayList<>();
+    private final List<Obstacle> nearbyObstacles = new ArrayList<>();
+
+    /**
+     * flasks that reached the ground this tick, removed once they were checked against the character
+     */
+    private final List<Flask> landedFlasks = new ArrayList<>();
+
+    /**
+     * whether a flask went through the character when the flasks were last moved
+     */
+    private boolean flaskHitCharacter = false;
+
+    /**
+     * how close a scientist must be to the character to throw a flask
+     */
+    private static final int THROW_DISTANCE = 600;
+
     /**
      * constructor that sets the objects needed for the checks and the character
      *
@@ -76,7 +99,7 @@ public class GameManager {
         if (!character.isInvincible()) {
             Hitbox characterHitbox = character.getHitbox();
 
-            for (Enemy enemy : this.entityManager.getEnemyList()) {
+            for (Enemy enemy : this.queryNearby(this.entityManager.getEnemyGrid(), characterHitbox, this.nearbyEnemies)) {
                 if (!enemy.getIsDead()) {
                     Hitbox enemyHitbox = enemy.getHitbox();
                     boolean areColliding = characterHitbox.areColliding(enemyHitbox);
@@ -93,7 +116,7 @@ public class GameManager {
         Hitbox oldCharacterHitbox = character.getHitbox(), newCharacterHitbox = character.getHitbox();
         oldCharacterHitbox.setLocation(oldLocation);
 
-        for (Enemy enemy : this.entityManager.getEnemyList()) {
+        for (Enemy enemy : this.queryNearby(this.entityManager.getEnemyGrid(), newCharacterHitbox, this.nearbyEnemies)) {
             Hitbox enemyHitbox = enemy.getHitbox();
             if (oldCharacterHitbox.aboveOtherHitbox(enemyHitbox) && newCharacterHitbox.areColliding(enemyHitbox)) {
                 if (!enemy.getIsDead()) {
@@ -132,7 +155,7 @@ public class GameManager {
      * @return Returns the ground level of the game
      */
     public int getGroundLevel(Actor actor) {
-        return this.graphicsRepainter.HEIGHT - 100 - (int) actor.getRightEntitySprite().getHeight();
+        return this.graphicsRepainter.HEIGHT - 100 - (int) actor.getEntitySprite().getHeight();
     }
 
     /**
@@ -141,7 +164,7 @@ public class GameManager {
      * @return centre xcord of the character
      */
     public int getCenterXCord() {
-        return this.graphicsRepainter.WIDTH / 2 - (int) this.character.getRightEntitySprite().getWidth() / 2;
+        return this.graphicsRepainter.WIDTH / 2 - (int) this.character.getEntitySprite().getWidth() / 2;
     }
 
     /**
@@ -163,12 +186,12 @@ public class GameManager {
     public void runCollectibleCheck() {
 
         //gets position and hitbox of the character
-        int height = (int) this.character.getRightEntitySprite().getHeight();
-        int width = (int) this.character.getRightEntitySprite().getWidth();
+        int height = (int) this.character.getEntitySprite().getHeight();
+        int width = (int) this.character.getEntitySprite().getWidth();
         Hitbox ET = new Hitbox(this.character.getLocation(), height, width);
 
-        //iterates through the list for ReesesPieces
-        List<Collectible> collectibleList = this.collectiblesManager.getCollectiblesList();
+        //iterates through the ReesesPieces near the character
+        List<Collectible> collectibleList = this.queryNearby(this.collectiblesManager.getCollectibleGrid(), ET, this.nearbyCollectibles);
         for (int i = collectibleList.size() - 1; i >= 0; i--) {
             Collectible collectible = collectibleList.get(i);
             int colHeight = (int) collectible.getHeight();
@@ -193,39 +216,66 @@ public class GameManager {
             //gets position and hitbox of ET
             Hitbox ET = character.getHitbox();
 
-            //iterates through list of Flasks
-            List<Flask> flaskList = this.flaskManager.getFlaskList();
-            for (int i = flaskList.size() - 1; i >= 0; i--) {
-                Flask flask = flaskList.get(i);
-                Hitbox flaskHit = flask.getHitbox();
-                if (flask.getLocation().getYcord() >= getGroundLevel(this.character)) {
-                    this.flaskManager.removeFlask(flask);
-                }
-                if (ET.areColliding(flaskHit)) {
+            //a fast flask can go through ET within a tick, which is found while moving it
+            if (this.flaskHitCharacter) {
+                this.removeLandedFlasks();
+                return true;
+            }
+
+            //iterates through the Flasks near ET
+            for (Flask flask : this.queryNearby(this.flaskManager.getFlaskGrid(), ET, this.nearbyFlasks)) {
+                if (ET.areColliding(flask.getHitbox())) {
+                    this.removeLandedFlasks();
                     return true;
                 }
             }
         }
+        this.removeLandedFlasks();
         return false;
 
     }
 
+    /**
+     * Removes the flasks that reached the ground when they were last moved
+     */
+    private void removeLandedFlasks() {
+        for (Flask flask : this.landedFlasks) {
+            this.flaskManager.removeFlask(flask);
+        }
+        this.landedFlasks.clear();
+    }
+
     public void moveFlasks() {
+        this.landedFlasks.clear();
+        this.flaskHitCharacter = false;
+        Hitbox characterHitbox = this.character.getHitbox();
         for (Flask flask : this.flaskManager.getFlaskList()) {
             Location old = flask.getLocation();
             Velocity vel = flask.getVelocity();
-            flask.setLocation(new Location(old.getXcord() + (int) vel.getHorizontalVelocity(), old.getYcord() + (int) vel.getVerticalVelocity()));
+            int dx = (int) vel.getHorizontalVelocity();
+            int dy = (int) vel.getVerticalVelocity();
+            if (Impact.find(flask.getHitbox(), dx, dy, characterHitbox) != null) {
+                this.flaskHitCharacter = true;
+            }
+            flask.setLocation(new Location(old.getXcord() + dx, old.getYcord() + dy));
+            this.flaskManager.updateFlask(flask);
+            if (flask.getLocation().getYcord() >= getGroundLevel(this.character)) {
+                this.landedFlasks.add(flask);
+            }
         }
     }
 
     public void throwFlasks() {
 
-        for (Enemy enemy : this.entityManager.getEnemyList()) {
+        Location characterLocation = character.getLocation();
+        this.nearbyEnemies.clear();
+        this.entityManager.getEnemyGrid().queryRadius(characterLocation.getXcord(), characterLocation.getYcord(), THROW_DISTANCE, this.nearbyEnemies);
+        for (Enemy enemy : this.nearbyEnemies) {
             if (enemy instanceof Scientist) {
                 if (!enemy.getIsDead()) {
                     Scientist scientist = (Scientist) enemy;
                     if (!scientist.getThrownFlask()) {
-                        if (character.getLocation().getDistance(enemy.getLocation()) < 600) {
+                        if (character.getLocation().getDistance(enemy.getLocation()) < THROW_DISTANCE) {
 
                             //if enemy is to the right and facing character
                             if (character.getLocation().getXcord() < enemy.getLocation().getXcord()) {
@@ -237,7 +287,7 @@ public class GameManager {
                                 }
                             } else if (character.getLocation().getXcord() > enemy.getLocation().getXcord()) {
                                 if (enemy.isFacingRight()) {
-                                    Location newLoc = new Location((int) (enemy.getLocation().getXcord() + enemy.getRightEntitySprite().getWidth()), enemy.getLocation().getYcord() - 10);
+                                    Location newLoc = new Location((int) (enemy.getLocation().getXcord() + enemy.getEntitySprite().getWidth()), enemy.getLocation().getYcord() - 10);
                                     Flask flask = new Flask(newLoc, new Velocity(5, -10));
                                     this.flaskManager.addFlask(scientist, flask);
                                     scientist.setThrownFlask(true);
@@ -258,68 +308,111 @@ public class GameManager {
 
 
     /**
-     * checks if charcter hit an obstacle
+     * Moves the character from its old location towards its new one and stops it at the first obstacle in the way.
+     * The move is swept against every obstacle it passes, so the character can't go through thin obstacles however
+     * fast it moves. After running into an obstacle the character slides along it for the rest of the move, and stops
+     * again if it runs into another one
      *
      * @param character   character of {@code GameManager}
      * @param oldLocation old location of Character
      * @param newLocation new location of character
-     * @return Direction of obstacle
+     * @return Direction of obstacle, the side of the first obstacle run into. Null if nothing is in the way, in which
+     * case the character isn't moved
      */
     public Direction runObstacleCollisionCheck(Character character, Location oldLocation, Location newLocation) {
 
         //sets initial values
-        int height = (int) character.getRightEntitySprite().getHeight();
-        int width = (int) character.getRightEntitySprite().getWidth();
-        Hitbox oldCharacterHitbox = new Hitbox(oldLocation, height, width);
-        Hitbox newCharacterHitbox = new Hitbox(newLocation, height, width);
-
-        //iterates through the list of obstacles
-        for (Obstacle obstacle : this.obstacleManager.getObstacleList()) {
-            Hitbox obstacleHitbox = obstacle.getHitbox();
-
-            //if they're colliding
-            if (newCharacterHitbox.areColliding(obstacleHitbox)) {
-                if (oldCharacterHitbox.toTheLeftOfOtherHitbox(obstacleHitbox)) {
-                    int newX = obstacleHitbox.getTopLeftCorner().getXcord() - width - 1;
-                    int newY = oldLocation.getYcord() + (int) character.getVelocity().getVerticalVelocity();
-                    character.setLocation(new Location(newX, newY));
-                    return Direction.LEFT_OF;
+        int height = (int) character.getEntitySprite().getHeight();
+        int width = (int) character.getEntitySprite().getWidth();
+        int dx = newLocation.getXcord() - oldLocation.getXcord();
+        int dy = newLocation.getYcord() - oldLocation.getYcord();
+        if (dx == 0 && dy == 0) {
+            return null;
+        }
 
-                }
+        //every obstacle the character passes on the way is a candidate
+        this.nearbyObstacles.clear();
+        this.obstacleManager.getObstacleGrid().queryAABB(Math.min(oldLocation.getXcord(), newLocation.getXcord()), Math.min(oldLocation.getYcord(), newLocation.getYcord()),
+                Math.max(oldLocation.getXcord(), newLocation.getXcord()) + width, Math.max(oldLocation.getYcord(), newLocation.getYcord()) + height, this.nearbyObstacles);
+        Hitbox characterHitbox = new Hitbox(new Location(oldLocation), height, width);
+        Impact impact = this.findFirstImpact(characterHitbox, dx, dy, this.nearbyObstacles);
+        if (impact == null) {
+            return null;
+        }
 
-                // if to the right of platform
-                if (oldCharacterHitbox.toTheRightOfOtherHitbox(obstacleHitbox)) {
-                    int newX = obstacleHitbox.getTopLeftCorner().getXcord() + obstacleHitbox.getWidth() + 1;
-                    if (obstacle instanceof Platform) {
-                        Platform platform = (Platform) obstacle;
-                        int xCord = platform.getLocation().getXcord();
-                        xCord += (60 * platform.getLength());
-                        newX = xCord + 1;
-                    }
-                    int newY = oldLocation.getYcord() + (int) character.getVelocity().getVerticalVelocity();
-                    character.setLocation(new Location(newX, newY));
-                    return Direction.RIGHT_OF;
-                }
+        //stops at the obstacle on the axis it was run into, and goes as far along the other axis as it got by then
+        int newX, newY;
+        if (impact.isVertical()) {
+            newY = this.stopAt(character, impact, height);
+            newX = oldLocation.getXcord() + (int) Math.round(dx * impact.getTime());
+        } else {
+            newX = this.stopAt(character, impact, width);
+            newY = oldLocation.getYcord() + (int) Math.round(dy * impact.getTime());
+        }
 
-                // if below the obstacle
-                if (oldCharacterHitbox.belowOtherHitbox(obstacleHitbox)) {
-                    character.getVelocity().setVerticalVelocity(0);
-                    int newX = oldLocation.getXcord() + (int) character.getVelocity().getHorizontalVelocity();
-                    int newY = obstacleHitbox.getTopLeftCorner().getYcord() + obstacleHitbox.getHeight();
-                    character.setLocation(new Location(newX, newY));
-                    return Direction.BELOW;
-                }
+        //slides along the obstacle for the rest of the move
+        characterHitbox.setLocation(new Location(newX, newY));
+        int slideX = impact.isVertical() ? newLocation.getXcord() - newX : 0;
+        int slideY = impact.isVertical() ? 0 : newLocation.getYcord() - newY;
+        Impact slideImpact = this.findFirstImpact(characterHitbox, slideX, slideY, this.nearbyObstacles);
+        if (slideImpact == null) {
+            newX += slideX;
+            newY += slideY;
+        } else if (slideImpact.isVertical()) {
+            newY = this.stopAt(character, slideImpact, height);
+        } else {
+            newX = this.stopAt(character, slideImpact, width);
+        }
+        character.setLocation(new Location(newX, newY));
+        return impact.getSide();
+    }
 
-                //if ontop the obstacle
-                if (oldCharacterHitbox.aboveOtherHitbox(obstacleHitbox)) {
-                    int newX = oldLocation.getXcord() + (int) character.getVelocity().getHorizontalVelocity();
-                    int newY = obstacleHitbox.getTopLeftCorner().getYcord() - height - 1;
-                    character.setLocation(new Location(newX, newY));
-                    return Direction.ABOVE;
-                }
+    /**
+     * Finds the first obstacle a hitbox runs into over a move
+     *
+     * @param hitbox    hitbox at the start of the move
+     * @param dx        horizontal distance of the move
+     * @param dy        vertical distance of the move
+     * @param obstacles the obstacles that could be in the way
+     * @return the earliest impact, or null if nothing is in the way
+     */
+    private Impact findFirstImpact(Hitbox hitbox, int dx, int dy, List<Obstacle> obstacles) {
+        if (dx == 0 && dy == 0) {
+            return null;
+        }
+        Impact first = null;
+        for (Obstacle obstacle : obstacles) {
+            Impact impact = Impact.find(hitbox, dx, dy, obstacle.getHitbox());
+            if (impact != null && (first == null || impact.getTime() < first.getTime())) {
+                first = impact;
             }
         }
-        return null;
+        return first;
+    }
+
+    /**
+     * Returns the coordinate the character stops at when it runs into an obstacle, a pixel away from it. Running into
+     * the bottom of an obstacle also stops the character going up
+     *
+     * @param character the character
+     * @param impact    where the character ran into the obstacle
+     * @param size      width of the character if it ran into a side, else its height
+     * @return x coordinate of the character if it ran into a side, else its y coordinate
+     */
+    private int stopAt(Character character, Impact impact, int size) {
+        Hitbox obstacleHitbox = impact.getOther();
+        Location topLeft = obstacleHitbox.getTopLeftCorner();
+        switch (impact.getSide()) {
+            case LEFT_OF:
+                return topLeft.getXcord() - size - 1;
+            case RIGHT_OF:
+                return topLeft.getXcord() + obstacleHitbox.getWidth() + 1;
+            case BELOW:
+                character.getVelocity().setVerticalVelocity(0);
+                return topLeft.getYcord() + obstacleHitbox.getHeight() + 1;
+            default:
+                return topLeft.getYcord() - size - 1;
+        }
     }
 
     /**
@@ -334,22 +427,16 @@ public class GameManager {
             this.character.setLocation(new Location(this.character.getLocation().getXcord(), this.getGroundLevel(this.character)));
             return true;
         } else {
-            int height = (int) this.character.getRightEntitySprite().getHeight();
-            int width = (int) this.character.getRightEntitySprite().getWidth();
-            Hitbox testCharacterHitbox = new Hitbox(new Location(this.character.getLocation().getXcord(), this.character.getLocation().getYcord() + 3), height, width);
-            for (Obstacle obstacle : UILauncher.getObstacleManager().getObstacleList()) {
-                if (obstacle instanceof Platform) {
-                    Platform platform = (Platform) obstacle;
-                    if (testCharacterHitbox.areColliding(platform.getHitbox())) {
-                        this.character.setOnPlatform(true);
-                        return true;
-                    }
-                } else {
-                    if (testCharacterHitbox.areColliding(obstacle.getHitbox())) {
-                        this.character.setOnPlatform(true);
-                        return true;
-                    }
-                }
+            //the character stops a pixel above what it lands on, so it is standing on an obstacle if a pixel down runs into one
+            int height = (int) this.character.getEntitySprite().getHeight();
+            int width = (int) this.character.getEntitySprite().getWidth();
+            Hitbox characterHitbox = new Hitbox(this.character.getLocation(), height, width);
+            Hitbox testCharacterHitbox = new Hitbox(this.character.getLocation().addY(1), height, width);
+            this.queryNearby(this.obstacleManager.getObstacleGrid(), testCharacterHitbox, this.nearbyObstacles);
+            Impact impact = this.findFirstImpact(characterHitbox, 0, 1, this.nearbyObstacles);
+            if (impact != null && impact.getSide() == Direction.ABOVE) {
+                this.character.setOnPlatform(true);
+                return true;
             }
         }
 
@@ -360,6 +447,21 @@ public class GameManager {
         return false;
     }
 
+    /**
+     * Finds the things in a grid whose hitboxes overlap or touch a hitbox, the only ones that can collide with it
+     *
+     * @param grid   grid of the things
+     * @param hitbox the hitbox
+     * @param into   list the things are put in, cleared first
+     * @param <T>    type of the things
+     * @return the given list
+     */
+    private <T> List<T> queryNearby(SpatialGrid<T> grid, Hitbox hitbox, List<T> into) {
+        into.clear();
+        Location topLeft = hitbox.getTopLeftCorner();
+        return grid.queryAABB(topLeft.getXcord(), topLeft.getYcord(), topLeft.getXcord() + hitbox.getWidth(), topLeft.getYcord() + hitbox.getHeight(), into);
+    }
+
     public static void main(String args[]) {
         Character character = new ET();
         GraphicsRepainter graphicsRepainter = new GraphicsRepainter();
@@ -1,11 +1,13 @@
 package etphoneshome.managers;
 
 import etphoneshome.UILauncher;
+import etphoneshome.graphics.PlatformStrips;
 import etphoneshome.objects.Level;
 import etphoneshome.objects.PhonePieceType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class LevelManager {
 
@@ -25,9 +27,14 @@ public class LevelManager {
     private List<PhonePieceType> collectedPieces = new ArrayList<>();
 
     /**
-     * boolean to check if level is over
+     * boolean to check if level is over, read by the key handlers on the JavaFX thread
      */
-    private boolean levelComplete = false;
+    private volatile boolean levelComplete = false;
+
+    /**
+     * future of the current level, completed once every asset of it is loaded
+     */
+    private volatile CompletableFuture<Level> loaded = CompletableFuture.completedFuture(null);
 
     /**
      * add level to the game
@@ -74,7 +81,8 @@ public class LevelManager {
     }
 
     /**
-     * Loads the given level
+     * Loads the given level. The objects of the level are loaded straight away and its background images in the
+     * background, use getLoaded to know when they are ready
      *
      * @param level The level to be loaded
      */
@@ -82,13 +90,30 @@ public class LevelManager {
         this.unloadLevel();
         this.currentLevelNum = level.getLevelNum();
         UILauncher.getObstacleManager().loadObstacles(level);
+        PlatformStrips.bake(level.getObstacles());
         UILauncher.getEntityManager().loadEntities(level);
         UILauncher.getCollectiblesManager().loadCollectibles(level);
-        UILauncher.getBackgroundManager().loadBackground(level);
+        this.loaded = UILauncher.getBackgroundManager().loadBackground(level).thenApply(layers -> level);
         this.collectedPieces.clear();
         this.levelComplete = false;
     }
 
+    /**
+     * Returns a future of the level loaded last, e.g. to do something once it is ready with thenAccept
+     *
+     * @return future completed with the level once every asset of it is loaded
+     */
+    public CompletableFuture<Level> getLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * Waits until every asset of the level loaded last is loaded
+     */
+    public void awaitLoaded() {
+        this.loaded.join();
+    }
+
     /**
      * Unload the current loaded level
      */
@@ -2,6 +2,8 @@ package etphoneshome.managers;
 
 import etphoneshome.objects.Level;
 import etphoneshome.objects.Obstacle;
+import etphoneshome.objects.SortedIndex;
+import etphoneshome.objects.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,23 @@ public class ObstacleManager {
      */
     private final List<Obstacle> obstacles = new ArrayList<>();
 
+    /**
+     * The obstacles sorted by x coordinate, so the ones in view can be found without checking all of them
+     */
+    private final SortedIndex<Obstacle> obstacleIndex = new SortedIndex<>(obstacle -> obstacle.getHitbox().getTopLeftCorner().getXcord(),
+            obstacle -> obstacle.getHitbox().getWidth());
+
+    /**
+     * The obstacles in a grid of the level, so the ones the character runs into can be found without checking all of
+     * them
+     */
+    private final SpatialGrid<Obstacle> obstacleGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, Obstacle::getHitbox);
+
+    /**
+     * Amount of times the list obstacles has been changed, used by the renderer to know when cached geometry is stale
+     */
+    private int modificationCount = 0;
+
     /**
      * method to add obstacle to the list obstacles.
      *
@@ -22,6 +41,9 @@ public class ObstacleManager {
      */
     public void addObstacle(Obstacle obstacle) {
         obstacles.add(obstacle);
+        obstacleIndex.add(obstacle);
+        obstacleGrid.add(obstacle);
+        modificationCount++;
     }
 
     /**
@@ -31,7 +53,9 @@ public class ObstacleManager {
      */
     public void removeObstacle(Obstacle obstacle) {
         obstacles.remove(obstacle);
-
+        obstacleIndex.remove(obstacle);
+        obstacleGrid.remove(obstacle);
+        modificationCount++;
     }
 
     /**
@@ -43,6 +67,25 @@ public class ObstacleManager {
         return this.obstacles;
     }
 
+    /**
+     * Returns the obstacles sorted by x coordinate, copy it with the {@code SortedIndex} constructor to read it on
+     * another thread
+     *
+     * @return index of the obstacles
+     */
+    public SortedIndex<Obstacle> getObstacleIndex() {
+        return this.obstacleIndex;
+    }
+
+    /**
+     * Returns the obstacles in a grid of the level, to find the ones near a box or a point
+     *
+     * @return grid of the obstacles
+     */
+    public SpatialGrid<Obstacle> getObstacleGrid() {
+        return this.obstacleGrid;
+    }
+
     /**
      * Load all obstacles from level
      *
@@ -60,5 +103,17 @@ public class ObstacleManager {
      */
     public void clearObstacles() {
         this.obstacles.clear();
+        this.obstacleIndex.clear();
+        this.obstacleGrid.clear();
+        modificationCount++;
+    }
+
+    /**
+     * Returns the amount of times the list obstacles has been changed
+     *
+     * @return the modification count of the list obstacles
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
     }
 }
@@ -0,0 +1,394 @@
+package etphoneshome.managers;
+
+import etphoneshome.UILauncher;
+import etphoneshome.entities.characters.Character;
+import etphoneshome.graphics.Animation;
+import etphoneshome.graphics.AnimationFrames;
+import etphoneshome.graphics.Camera;
+import etphoneshome.graphics.GraphicsRepainter;
+import etphoneshome.graphics.SnapshotBuffer;
+import etphoneshome.graphics.TimingHistory;
+import etphoneshome.graphics.WorldSnapshot;
+import etphoneshome.listeners.InputListener;
+import etphoneshome.objects.Direction;
+import etphoneshome.objects.Location;
+import etphoneshome.objects.Session;
+import etphoneshome.objects.Velocity;
+import etphoneshome.sound.Sound;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class runs the game on a thread of its own, separate from the JavaFX thread that draws it. Every tick moves
+ * the character, runs the checks of {@code GameManager} and the animations, then publishes a {@code WorldSnapshot}
+ * for the renderer. Anything the JavaFX thread wants to change in the game is posted and run at the start of the next
+ * tick so the game state is only ever touched by the game thread. Keys are only marked held by the key events, the
+ * game thread reads them once at the start of every tick and plays the tick from that, which is also what is recorded.
+ * <p>
+ * Ticks are a fixed {@code TICK_MILLIS} long no matter how late the thread wakes up. Time that has passed is added to
+ * an accumulator and as many ticks are run as fit in it, so the game runs at the same speed it was tuned for and the
+ * renderer can interpolate between the last two ticks.
+ */
+public class SimulationManager {
+
+    /**
+     * length of a tick in milliseconds
+     */
+    public static final int TICK_MILLIS = 20;
+    public static final long TICK_NANOS = TICK_MILLIS * 1000000L;
+
+    /**
+     * most ticks run to catch up at once, any time past that is dropped so a long stall doesn't freeze the game
+     * while it catches up
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * thread the game runs on
+     */
+    private final Thread thread = new Thread(this::run, "game-loop");
+    private volatile boolean running = false;
+
+    /**
+     * tasks posted by other threads, run at the start of the next tick
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * snapshots handed to the renderer
+     */
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    /**
+     * how long the last 5 seconds of ticks took, including making their snapshots
+     */
+    private final TimingHistory tickTimes = new TimingHistory(5000 / TICK_MILLIS);
+
+    /**
+     * view of the level, used to tell when the character has walked off the screen after winning and to capture only
+     * what is near it in snapshots
+     */
+    private final Camera camera;
+
+    private final Sound sound = new Sound();
+
+    /**
+     * the character the game is played with
+     */
+    private Character character;
+
+    /**
+     * true while the game is stopped after the player died or won
+     */
+    private volatile boolean paused = false;
+
+    /**
+     * true from asking to play again until the game has restarted
+     */
+    private final AtomicBoolean restartPending = new AtomicBoolean();
+
+    /**
+     * amount of ticks run and whether the player won the level
+     */
+    private long tick = 0;
+    private boolean won = false;
+
+    /**
+     * input of every tick run so the game can be played back, and whether the game was restarted since the last tick
+     */
+    private Session session;
+    private boolean restarted = false;
+
+    /**
+     * Constructor that sets the size of the view
+     *
+     * @param graphicsRepainter graphics of the game
+     */
+    public SimulationManager(GraphicsRepainter graphicsRepainter) {
+        this.camera = new Camera(graphicsRepainter.WIDTH, graphicsRepainter.HEIGHT);
+    }
+
+    /**
+     * Publishes the first snapshot and starts running the game
+     *
+     * @param character the character the game is played with
+     */
+    public void start(Character character) {
+        this.prepare(character);
+        this.running = true;
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Publishes the first snapshot without starting the thread, so ticks can be run one at a time with runTick
+     *
+     * @param character the character the game is played with
+     */
+    public void prepare(Character character) {
+        this.character = character;
+        this.session = new Session(UILauncher.getSeed());
+        this.camera.update(character.getLocation(), UILauncher.getGameManager().getCenterXCord(), UILauncher.getLevelManager().getCurrentLevel().getEndCord());
+        this.snapshots.publish(new WorldSnapshot(this.tick, System.nanoTime(), this.won, null, this.camera));
+    }
+
+    /**
+     * Runs a single tick and publishes its snapshot. Must be called on the thread running the game
+     *
+     * @param tickTime {@code System.nanoTime} the tick ends at
+     */
+    public void runTick(long tickTime) {
+        this.runTick(UILauncher.getInputListener().getPendingInput(), tickTime);
+    }
+
+    /**
+     * Runs a single tick with the given keys held and publishes its snapshot
+     *
+     * @param input    bits of the keys held during the tick
+     * @param tickTime {@code System.nanoTime} the tick ends at
+     */
+    private void runTick(int input, long tickTime) {
+        //the game waits for a level that is still loading, so it plays the same however long loading takes
+        UILauncher.getLevelManager().awaitLoaded();
+        long start = System.nanoTime();
+        //the keys are read once, so the tick is played exactly as it is recorded
+        this.character.setHoldingUp((input & Session.UP) != 0);
+        this.character.setHoldingLeft((input & Session.LEFT) != 0);
+        this.character.setHoldingRight((input & Session.RIGHT) != 0);
+        this.session.add((input & ~Session.RESTART) | (this.restarted ? Session.RESTART : 0));
+        this.restarted = false;
+        this.runSafely(this::step);
+        this.tick++;
+        this.snapshots.publish(new WorldSnapshot(this.tick, tickTime, this.won, this.snapshots.getCurrent(), this.camera));
+        this.tickTimes.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a tick of a recorded session, holding the keys that were held and restarting if the game was restarted
+     * before the tick. Must be called on the thread running the game
+     *
+     * @param input    input of the tick in the session
+     * @param tickTime {@code System.nanoTime} the tick ends at
+     */
+    public void replayTick(int input, long tickTime) {
+        if ((input & Session.RESTART) != 0) {
+            this.restart();
+        }
+        this.runTick(input, tickTime);
+    }
+
+    /**
+     * Stops running the game
+     */
+    public void stop() {
+        this.running = false;
+        this.thread.interrupt();
+    }
+
+    /**
+     * Runs a task on the game thread at the start of the next tick
+     *
+     * @param task the task to run
+     */
+    public void post(Runnable task) {
+        this.tasks.add(task);
+    }
+
+    /**
+     * Continues the game after it was paused
+     */
+    public void resume() {
+        this.paused = false;
+    }
+
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * Resets the character and the level on the next tick and continues the game. The game is only continued by the
+     * game thread once it has restarted, so no tick runs with the character still dead
+     */
+    public void playAgain() {
+        //the game stays paused until the restart runs, so asking again before then doesn't restart twice
+        if (this.restartPending.compareAndSet(false, true)) {
+            this.post(() -> {
+                this.restart();
+                this.paused = false;
+                this.restartPending.set(false);
+            });
+        }
+    }
+
+    /**
+     * Resets character position and health and reloads the level
+     */
+    private void restart() {
+        Character character = this.character;
+        character.setLocation(new Location(UILauncher.getGameManager().getCenterXCord(), UILauncher.getGameManager().getGroundLevel(character)));
+        character.setIsDead(false);
+        character.setHealth(3);
+        character.setFacingRight(true);
+        character.getVelocity().setHorizontalVelocity(0);
+        character.getVelocity().setVerticalVelocity(0);
+        character.setScore(0);
+        UILauncher.getGameManager().setGameOver(false);
+        LevelManager levelManager = UILauncher.getLevelManager();
+        levelManager.loadLevel(levelManager.getCurrentLevel());
+        UILauncher.getFlaskManager().clearFlasks();
+        this.won = false;
+        this.restarted = true;
+        sound.playTheme();
+    }
+
+    /**
+     * Returns the recording of every tick run so far
+     *
+     * @return the session being played
+     */
+    public Session getSession() {
+        return this.session;
+    }
+
+    /**
+     * Returns how long the last ticks took to run
+     *
+     * @return history of the tick times
+     */
+    public TimingHistory getTickTimes() {
+        return this.tickTimes;
+    }
+
+    /**
+     * Returns the snapshots the renderer draws
+     *
+     * @return buffer of the snapshots
+     */
+    public SnapshotBuffer getSnapshots() {
+        return this.snapshots;
+    }
+
+    /**
+     * Loop of the game thread. Runs the posted tasks and then as many ticks as fit in the time that has passed, and
+     * sleeps until the next tick is due
+     */
+    private void run() {
+        long lastTime = System.nanoTime();
+        long accumulator = 0;
+        while (this.running) {
+            long now = System.nanoTime();
+            accumulator += now - lastTime;
+            lastTime = now;
+
+            Runnable task;
+            while ((task = this.tasks.poll()) != null) {
+                this.runSafely(task);
+            }
+
+            int ticks = 0;
+            while (accumulator >= TICK_NANOS && ticks < MAX_CATCH_UP_TICKS) {
+                accumulator -= TICK_NANOS;
+                ticks++;
+                if (!this.paused) {
+                    //the tick ends at the time it was due, not the time it was run, so ticks are always evenly spaced
+                    this.runTick(now - accumulator);
+                }
+            }
+            if (ticks == MAX_CATCH_UP_TICKS) {
+                accumulator = Math.min(accumulator, TICK_NANOS);
+            }
+
+            LockSupport.parkNanos(TICK_NANOS - accumulator);
+        }
+    }
+
+    /**
+     * Runs part of a tick, reporting any exception instead of letting it end the game thread
+     *
+     * @param runnable the part of the tick to run
+     */
+    private void runSafely(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs a single tick of the game
+     */
+    private void step() {
+        GameManager gameManager = UILauncher.getGameManager();
+        InputListener inputListener = UILauncher.getInputListener();
+        LevelManager levelManager = UILauncher.getLevelManager();
+        AnimationManager animationManager = UILauncher.getAnimationManager();
+        Character character = this.character;
+
+        //getting location and velocity of character
+        Velocity velocity = character.getVelocity();
+        Location oldLocation = character.getLocation();
+
+        //Will update velocity if the user is holding a movement key (w, a, s, d)
+
+        // check if game was won
+        if (levelManager.getPhonePiecesLeft() == 0 && oldLocation.getXcord() >= levelManager.getCurrentLevel().getEndCord()) {
+            character.setHoldingRight(true);
+            inputListener.updateVelocities();
+            Location newLocation = new Location(oldLocation.getXcord() + (int) velocity.getHorizontalVelocity(), oldLocation.getYcord() + (int) velocity.getVerticalVelocity());
+            character.setLocation(newLocation);
+            levelManager.setLevelComplete(true);
+        } else {
+            inputListener.updateVelocities();
+            Location newLocation = new Location(oldLocation.getXcord() + (int) velocity.getHorizontalVelocity(), oldLocation.getYcord() + (int) velocity.getVerticalVelocity());
+            //updates location of character based on the velocity
+            Direction direction = gameManager.runObstacleCollisionCheck(character, oldLocation, newLocation);
+            if (direction == null) {
+                character.setLocation(newLocation);
+                if (newLocation.getXcord() < 0) {
+                    newLocation.setXcord(0);
+                    character.setLocation(newLocation);
+                }
+            }
+        }
+
+        gameManager.runEnemyCheck(oldLocation);
+        gameManager.runGroundCheck(character, velocity);
+        gameManager.runCollectibleCheck();
+
+        // check if entity was hurt
+        if (gameManager.checkFlasks() || gameManager.wasCharacterHurt()) {
+            character.takeSinglePointOfDamage();
+            sound.takeDamageSound();
+            if (!character.getIsDead()) {
+                character.setInvincible(true);
+                animationManager.setCharacterAnimation(new Animation(AnimationFrames.ET_HURT));
+            }
+        }
+
+        // increment animation ticks
+        animationManager.incrementAnimations();
+        animationManager.runGarbageCollector();
+        if (animationManager.getCharacterAnimation() == null) {
+            character.setInvincible(false);
+        }
+
+        //the level is won once the character walks off the screen
+        this.camera.update(character.getLocation(), gameManager.getCenterXCord(), levelManager.getCurrentLevel().getEndCord());
+        if (levelManager.isLevelComplete() && character.getLocation().getXcord() >= this.camera.getRight()) {
+            this.won = true;
+            sound.playWin();
+            this.paused = true;
+        }
+
+        if (character.getIsDead()) {
+            sound.playETDeath();
+            sound.stopTheme();
+            gameManager.setGameOver(true);
+            this.paused = true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package etphoneshome.objects;
 
+import etphoneshome.graphics.SpriteCache;
 import javafx.embed.swing.JFXPanel;
 import javafx.scene.image.Image;
 
@@ -131,7 +132,7 @@ public abstract class Collectible {
      */
 
     public void setTheImage(String theImage) {
-        this.theImage = new Image(theImage);
+        this.theImage = SpriteCache.getImage(theImage);
         this.setHitbox(new Hitbox(this.getLocation(), (int) this.getTheImage().getWidth(), (int) this.getTheImage().getHeight()));
     }
 
@@ -141,8 +142,7 @@ public abstract class Collectible {
      * @return the image of the Collectible
      */
     public Image getTheImage() {
-        Image copy = new Image(this.theImage.impl_getUrl());
-        return copy;
+        return this.theImage;
     }
 
     /**
@@ -1,5 +1,6 @@
 package etphoneshome.objects;
 
+import etphoneshome.graphics.SpriteCache;
 import etphoneshome.graphics.SpriteURL;
 import javafx.scene.image.Image;
 
@@ -14,7 +15,7 @@ public class Flask {
     private Velocity velocity;
     private Direction direction;
 
-    private Image image = new Image(SpriteURL.FLASK.getPath());
+    private Image image = SpriteCache.getImage(SpriteURL.FLASK);
 
     private Location location;
 
@@ -0,0 +1,132 @@
+package etphoneshome.objects;
+
+/**
+ * This class is where a moving hitbox first touches another one over a move. Using find sweeps a hitbox along a move
+ * and returns the fraction of the move at which it first touches the other hitbox and the side it touches it from, so
+ * a move can be stopped at whatever it runs into first however far it goes in a single tick.
+ * <p>
+ * Hitboxes that touch on an edge are colliding, as with {@code Hitbox.areColliding}. Hitboxes that already overlap
+ * before the move have no impact, so something stuck inside an obstacle can still move out of it.
+ */
+public class Impact {
+
+    /**
+     * fraction of the move at which the hitboxes first touch, from 0 to 1
+     */
+    private final double time;
+
+    /**
+     * side of the other hitbox the moving one touches it from
+     */
+    private final Direction side;
+
+    /**
+     * the hitbox that was run into
+     */
+    private final Hitbox other;
+
+    /**
+     * Constructor that sets the time, side and hitbox of the impact
+     *
+     * @param time  fraction of the move at which the hitboxes first touch
+     * @param side  side of the other hitbox the moving one touches it from
+     * @param other the hitbox that was run into
+     */
+    public Impact(double time, Direction side, Hitbox other) {
+        this.time = time;
+        this.side = side;
+        this.other = other;
+    }
+
+    /**
+     * Sweeps a hitbox along a move and finds where it first touches another hitbox
+     *
+     * @param moving hitbox at the start of the move
+     * @param dx     horizontal distance of the move
+     * @param dy     vertical distance of the move
+     * @param other  hitbox that stays still
+     * @return the impact, or null if the hitboxes don't touch during the move or already overlap before it
+     */
+    public static Impact find(Hitbox moving, int dx, int dy, Hitbox other) {
+        int left = moving.getTopLeftCorner().getXcord();
+        int top = moving.getTopLeftCorner().getYcord();
+        int otherLeft = other.getTopLeftCorner().getXcord();
+        int otherTop = other.getTopLeftCorner().getYcord();
+
+        //times at which the hitboxes start and stop overlapping along each axis
+        double[] x = getOverlapTimes(left, left + moving.getWidth(), otherLeft, otherLeft + other.getWidth(), dx);
+        double[] y = getOverlapTimes(top, top + moving.getHeight(), otherTop, otherTop + other.getHeight(), dy);
+        if (x == null || y == null) {
+            return null;
+        }
+        double entry = Math.max(x[0], y[0]);
+        double exit = Math.min(x[1], y[1]);
+        if (entry > exit || entry < 0 || entry > 1) {
+            return null;
+        }
+
+        //the axis that starts overlapping last is the one run into, corners count as landing on or hitting the bottom
+        if (x[0] > y[0]) {
+            return new Impact(entry, dx > 0 ? Direction.LEFT_OF : Direction.RIGHT_OF, other);
+        }
+        return new Impact(entry, dy > 0 ? Direction.ABOVE : Direction.BELOW, other);
+    }
+
+    /**
+     * Returns when two ranges overlap along one axis while the first one moves
+     *
+     * @param min      start of the moving range
+     * @param max      end of the moving range
+     * @param otherMin start of the range that stays still
+     * @param otherMax end of the range that stays still
+     * @param distance distance the moving range moves
+     * @return fractions of the move at which the ranges start and stop overlapping, or null if they never overlap
+     */
+    private static double[] getOverlapTimes(int min, int max, int otherMin, int otherMax, int distance) {
+        if (distance > 0) {
+            return new double[]{(otherMin - max) / (double) distance, (otherMax - min) / (double) distance};
+        }
+        if (distance < 0) {
+            return new double[]{(otherMax - min) / (double) distance, (otherMin - max) / (double) distance};
+        }
+        if (max >= otherMin && min <= otherMax) {
+            return new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        }
+        return null;
+    }
+
+    public double getTime() {
+        return this.time;
+    }
+
+    public Direction getSide() {
+        return this.side;
+    }
+
+    public Hitbox getOther() {
+        return this.other;
+    }
+
+    /**
+     * @return true if the moving hitbox ran into the top or bottom of the other one
+     */
+    public boolean isVertical() {
+        return this.side == Direction.ABOVE || this.side == Direction.BELOW;
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        Hitbox platform = new Hitbox(new Location(0, 500), 26, 300);
+        Hitbox falling = new Hitbox(new Location(100, 300), 100, 50);
+        Impact impact = Impact.find(falling, 0, 400, platform);
+        System.out.println("Testing a fast fall onto a thin platform. Should be ABOVE 0.25: " + impact.getSide() + " " + impact.getTime());
+        System.out.println("Testing a move that stops short. Should be null: " + Impact.find(falling, 0, 50, platform));
+        Hitbox wall = new Hitbox(new Location(400, 0), 1000, 20);
+        Hitbox running = new Hitbox(new Location(200, 600), 100, 50);
+        System.out.println("Testing a fast run into a thin wall. Should be LEFT_OF: " + Impact.find(running, 500, 0, wall).getSide());
+        System.out.println("Testing running the other way. Should be RIGHT_OF: " + Impact.find(new Hitbox(new Location(600, 600), 100, 50), -500, 0, wall).getSide());
+        System.out.println("Testing jumping into the bottom. Should be BELOW: " + Impact.find(new Hitbox(new Location(100, 600), 100, 50), 10, -200, platform).getSide());
+        System.out.println("Testing moving out of an overlap. Should be null: " + Impact.find(new Hitbox(new Location(100, 480), 100, 50), 0, -40, platform));
+        System.out.println("Testing a move that passes by. Should be null: " + Impact.find(falling, 400, 0, platform));
+    }
+}
@@ -3,6 +3,7 @@ package etphoneshome.objects;
 import etphoneshome.entities.enemies.Enemy;
 import etphoneshome.entities.enemies.Police;
 import etphoneshome.entities.enemies.Scientist;
+import etphoneshome.graphics.ParallaxLayer;
 import etphoneshome.graphics.SpriteURL;
 
 import java.io.File;
@@ -18,6 +19,7 @@ public class Level {
      */
     private int levelNum, endCord;
     private String backgroundFilePath = SpriteURL.BACKGROUND.getPath();
+    private List<ParallaxLayer> parallaxLayers = new ArrayList<>();
     private List<Obstacle> obstacles = new ArrayList<>();
     private List<Enemy> enemies = new ArrayList<>();
     private List<Collectible> phonePieces = new ArrayList<>();
@@ -31,6 +33,7 @@ public class Level {
         this.levelNum = level.getLevelNum();
 
         this.backgroundFilePath = level.getBackgroundFilePath();
+        this.parallaxLayers = new ArrayList<>(level.parallaxLayers);
 
         this.endCord = level.getEndCord();
 
@@ -75,6 +78,11 @@ public class Level {
                 if (line.startsWith("background-sprite: ")) {
                     this.backgroundFilePath = line.replace("background-sprite: ", "");
                 }
+                // extra background layers in front of the background sprite, as a path followed by a scroll factor
+                if (line.startsWith("parallax-layer: ")) {
+                    String[] parts = line.replace("parallax-layer: ", "").split(" ");
+                    this.parallaxLayers.add(new ParallaxLayer(parts[0], Double.valueOf(parts[1])));
+                }
 
                 //end coordinate of level
                 if (line.startsWith("end-cord: ")) {
@@ -90,7 +98,7 @@ public class Level {
                 //police of level
                 if (line.equals("  police:")) {
                     int xCord = Integer.valueOf(scanner.nextLine().replace("    x-cord: ", ""));
-                    int yCord = Integer.valueOf(scanner.nextLine().replace("    y-cord: ", "")) - (int) new Police().getRightEntitySprite().getHeight();
+                    int yCord = Integer.valueOf(scanner.nextLine().replace("    y-cord: ", "")) - (int) new Police().getEntitySprite().getHeight();
                     Police police = (new Police(new Location(xCord, yCord)));
                     this.enemies.add(police);
                 }
@@ -98,7 +106,7 @@ public class Level {
                 //scientist of level
                 if (line.equals("  scientist:")) {
                     int xCord = Integer.valueOf(scanner.nextLine().replace("    x-cord: ", ""));
-                    int yCord = Integer.valueOf(scanner.nextLine().replace("    y-cord: ", "")) - (int) new Scientist().getRightEntitySprite().getHeight();
+                    int yCord = Integer.valueOf(scanner.nextLine().replace("    y-cord: ", "")) - (int) new Scientist().getEntitySprite().getHeight();
                     this.enemies.add(new Scientist(new Location(xCord, yCord)));
                 }
 
@@ -138,6 +146,19 @@ public class Level {
         return this.backgroundFilePath;
     }
 
+    /**
+     * Returns the background layers of the level from back to front. The background sprite is the back layer and
+     * scrolls at half the speed of the level
+     *
+     * @return background layers of the {@code Level}
+     */
+    public List<ParallaxLayer> getParallaxLayers() {
+        List<ParallaxLayer> layers = new ArrayList<>();
+        layers.add(new ParallaxLayer(this.backgroundFilePath, 0.5));
+        layers.addAll(this.parallaxLayers);
+        return layers;
+    }
+
     /**
      * get the end coordinate of the level
      *
@@ -1,5 +1,6 @@
 package etphoneshome.objects;
 
+import etphoneshome.graphics.SpriteCache;
 import etphoneshome.graphics.SpriteURL;
 import javafx.scene.image.Image;
 
@@ -63,7 +64,7 @@ public class PhonePiece extends Collectible {
      * @return the image of {@code PhonePiece}
      */
     public Image getImage() {
-        return new Image(this.ImagePath);
+        return SpriteCache.getImage(this.ImagePath);
     }
 
     /**
@@ -5,6 +5,7 @@ package etphoneshome.objects;
  * it has an image with height and width set to 40. with getters and setters for the image
  */
 
+import etphoneshome.graphics.SpriteCache;
 import etphoneshome.graphics.SpriteURL;
 import javafx.scene.image.Image;
 
@@ -16,9 +17,9 @@ public class ReesesPieces extends Collectible {
     private final static int HEIGHT = 40;
 
     /**
-     * random number generator to pick sprite
+     * random number generator to pick sprite, shared so a seed picks the same sprites every time
      */
-    private final Random rand = new Random();
+    private static final Random rand = new Random();
 
     private String ImagePath;
 
@@ -43,6 +44,15 @@ public class ReesesPieces extends Collectible {
     }
 
 
+    /**
+     * Seeds the random number generator that picks the sprites
+     *
+     * @param seed the seed
+     */
+    public static void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
     /**
      * sets the image of {@code ReesesPieces}
      */
@@ -59,8 +69,7 @@ public class ReesesPieces extends Collectible {
      * @return image of sprite
      */
     public Image getTheImage() {
-        Image copy = new Image(ImagePath);
-        return copy;
+        return SpriteCache.getImage(ImagePath);
     }
 
 
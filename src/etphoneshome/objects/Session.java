@@ -0,0 +1,128 @@
+package etphoneshome.objects;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+ * This class is a recording of a game that can be played back tick by tick. It holds the seed the game was set up
+ * with and the input of every tick, which together are all the game needs to run the same way again. Using save
+ * writes the session to a file and the constructor that takes a file reads one back.
+ */
+public class Session {
+
+    /**
+     * bits of the input of a tick, the keys held during the tick and whether the game was restarted before it
+     */
+    public static final int UP = 1, LEFT = 2, RIGHT = 4, RESTART = 8;
+
+    /**
+     * seed the game was set up with
+     */
+    private final long seed;
+
+    /**
+     * input of every tick, in order
+     */
+    private byte[] inputs = new byte[1024];
+    private int length = 0;
+
+    /**
+     * Constructor for an empty session
+     *
+     * @param seed seed the game was set up with
+     */
+    public Session(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Constructor that reads a session written by save
+     *
+     * @param file the file of the session
+     * @throws FileNotFoundException if the file doesn't exist
+     */
+    public Session(File file) throws FileNotFoundException {
+        try (Scanner scanner = new Scanner(file)) {
+            this.seed = Long.valueOf(scanner.nextLine().replace("seed: ", ""));
+            String inputs = scanner.nextLine().replace("inputs: ", "");
+            for (int i = 0; i < inputs.length(); i++) {
+                this.add(Character.digit(inputs.charAt(i), 16));
+            }
+        }
+    }
+
+    /**
+     * Adds the input of the next tick
+     *
+     * @param input bits of the input
+     */
+    public synchronized void add(int input) {
+        if (this.length == this.inputs.length) {
+            this.inputs = Arrays.copyOf(this.inputs, this.length * 2);
+        }
+        this.inputs[this.length++] = (byte) input;
+    }
+
+    /**
+     * Returns the input of a tick
+     *
+     * @param tick index of the tick, starting at 0
+     * @return bits of the input
+     */
+    public synchronized int getInput(int tick) {
+        return this.inputs[tick];
+    }
+
+    /**
+     * @return amount of ticks in the session
+     */
+    public synchronized int getLength() {
+        return this.length;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Writes the session to a file. The first line is the seed, the second the input of every tick as one hex digit
+     *
+     * @param file the file to write to
+     * @throws IOException if the file can't be written
+     */
+    public synchronized void save(File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("seed: " + this.seed);
+            writer.print("inputs: ");
+            for (int i = 0; i < this.length; i++) {
+                writer.print(Character.forDigit(this.inputs[i], 16));
+            }
+            writer.println();
+            if (writer.checkError()) {
+                throw new IOException("Could not write " + file);
+            }
+        }
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) throws IOException {
+        Session session = new Session(42);
+        session.add(RIGHT);
+        session.add(RIGHT | UP);
+        session.add(RESTART);
+        System.out.println("Testing length. Should be 3: " + session.getLength());
+
+        File file = File.createTempFile("session", ".txt");
+        session.save(file);
+        Session loaded = new Session(file);
+        System.out.println("Testing seed. Should be 42: " + loaded.getSeed());
+        System.out.println("Testing length. Should be 3: " + loaded.getLength());
+        System.out.println("Testing input. Should be 5: " + loaded.getInput(1));
+        System.out.println("Testing input. Should be 8: " + loaded.getInput(2));
+        file.delete();
+    }
+}
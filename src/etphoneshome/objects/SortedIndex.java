@@ -0,0 +1,193 @@
+package etphoneshome.objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class keeps things that sit still in the level sorted by the x coordinate of their left edge, so the ones
+ * overlapping a range of x coordinates can be found with a binary search instead of checking every one of them. Using
+ * add and remove keeps the order as things are added and removed, and using query gets the ones in a range, so
+ * finding what is in view costs about as much as what is in view, however long the level is.
+ * <p>
+ * The x coordinate and width of a thing must not change while it is in the index.
+ *
+ * @param <T> type of the things kept
+ */
+public class SortedIndex<T> {
+
+    /**
+     * gets the x coordinate of the left edge and the width of a thing
+     */
+    private final ToIntFunction<T> left, width;
+
+    /**
+     * things kept, sorted by the x coordinate of their left edge, and that coordinate of each
+     */
+    private final List<T> items = new ArrayList<>();
+    private int[] keys = new int[16];
+
+    /**
+     * widest thing added since the index was last cleared, a thing can only overlap a range if its left edge is less
+     * than this far left of the range
+     */
+    private int maxWidth = 0;
+
+    /**
+     * Constructor that sets how the position of a thing is found
+     *
+     * @param left  gets the x coordinate of the left edge of a thing
+     * @param width gets the width of a thing
+     */
+    public SortedIndex(ToIntFunction<T> left, ToIntFunction<T> width) {
+        this.left = left;
+        this.width = width;
+    }
+
+    /**
+     * Constructor that copies another index, so the copy can be read while the other one keeps changing
+     *
+     * @param index the index to copy
+     */
+    public SortedIndex(SortedIndex<T> index) {
+        this(index.left, index.width);
+        this.items.addAll(index.items);
+        this.keys = index.keys.clone();
+        this.maxWidth = index.maxWidth;
+    }
+
+    /**
+     * Adds a thing after any others with the same x coordinate
+     *
+     * @param item the thing to add
+     */
+    public void add(T item) {
+        int key = this.left.applyAsInt(item);
+        int index = this.upperBound(key);
+        if (this.items.size() == this.keys.length) {
+            int[] keys = new int[this.keys.length * 2];
+            System.arraycopy(this.keys, 0, keys, 0, this.keys.length);
+            this.keys = keys;
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.items.size() - index);
+        this.keys[index] = key;
+        this.items.add(index, item);
+        this.maxWidth = Math.max(this.maxWidth, this.width.applyAsInt(item));
+    }
+
+    /**
+     * Removes a thing
+     *
+     * @param item the thing to remove
+     * @return true if the thing was in the index
+     */
+    public boolean remove(T item) {
+        int key = this.left.applyAsInt(item);
+        for (int i = this.lowerBound(key); i < this.items.size() && this.keys[i] == key; i++) {
+            if (this.items.get(i) == item) {
+                this.items.remove(i);
+                System.arraycopy(this.keys, i + 1, this.keys, i, this.items.size() - i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every thing
+     */
+    public void clear() {
+        this.items.clear();
+        this.maxWidth = 0;
+    }
+
+    /**
+     * Adds the things overlapping a range of x coordinates to a list, in order of their left edge
+     *
+     * @param minX x coordinate of the left of the range
+     * @param maxX x coordinate of the right of the range
+     * @param into list the things are added to
+     * @return the given list
+     */
+    public List<T> query(int minX, int maxX, List<T> into) {
+        for (int i = this.lowerBound(minX - this.maxWidth); i < this.items.size() && this.keys[i] < maxX; i++) {
+            T item = this.items.get(i);
+            if (this.keys[i] + this.width.applyAsInt(item) > minX) {
+                into.add(item);
+            }
+        }
+        return into;
+    }
+
+    /**
+     * Returns the index of the first thing with a left edge at or right of an x coordinate
+     *
+     * @param key the x coordinate
+     * @return index in the sorted things
+     */
+    private int lowerBound(int key) {
+        int low = 0;
+        int high = this.items.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first thing with a left edge right of an x coordinate
+     *
+     * @param key the x coordinate
+     * @return index in the sorted things
+     */
+    private int upperBound(int key) {
+        int low = 0;
+        int high = this.items.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.keys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return every thing kept, sorted by the x coordinate of their left edge
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(this.items);
+    }
+
+    public int size() {
+        return this.items.size();
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        SortedIndex<int[]> index = new SortedIndex<>(item -> item[0], item -> item[1]);
+        int[] wide = {0, 500};
+        index.add(new int[]{300, 10});
+        index.add(wide);
+        index.add(new int[]{1000, 10});
+        index.add(new int[]{100, 10});
+        System.out.println("Testing order. Should be 0: " + index.getItems().get(0)[0]);
+        System.out.println("Testing query. Should be 2: " + index.query(250, 400, new ArrayList<>()).size());
+        System.out.println("Testing query past the end. Should be 0: " + index.query(1100, 2000, new ArrayList<>()).size());
+        System.out.println("Testing remove. Should be true: " + index.remove(wide));
+        System.out.println("Testing query after remove. Should be 1: " + index.query(250, 400, new ArrayList<>()).size());
+        System.out.println("Testing remove twice. Should be false: " + index.remove(wide));
+        for (int i = 0; i < 100; i++) {
+            index.add(new int[]{i * 50, 10});
+        }
+        System.out.println("Testing growing. Should be 103: " + index.size());
+    }
+}
@@ -0,0 +1,290 @@
+package etphoneshome.objects;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class keeps things in a grid of square cells of the level by their hitbox, so the ones near a box or a point
+ * can be found by looking in the cells around it instead of checking every one of them. Only cells with something in
+ * them are kept, in a map from the coordinates of the cell. Using add and remove keeps the cells up to date, update
+ * moves a thing to the cells of its new hitbox, and queryAABB and queryRadius get the things overlapping a box or a
+ * circle, so a check costs about as much as what is near it, however many things the level has.
+ * <p>
+ * Cells should be around the size of the things kept, so most things are in one to four cells. A thing that moved
+ * must be updated before the grid is queried again.
+ *
+ * @param <T> type of the things kept
+ */
+public class SpatialGrid<T> {
+
+    /**
+     * cell size that fits the sprites of the game, which are about a hundred pixels across
+     */
+    public static final int DEFAULT_CELL_SIZE = 128;
+
+    /**
+     * width and height of a cell
+     */
+    private final int cellSize;
+
+    /**
+     * gets the hitbox of a thing
+     */
+    private final Function<T, Hitbox> hitbox;
+
+    /**
+     * things in each cell, keyed by the coordinates of the cell, and the entry of every thing kept
+     */
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /**
+     * Constructor that sets the size of the cells and how the hitbox of a thing is found
+     *
+     * @param cellSize width and height of a cell
+     * @param hitbox   gets the hitbox of a thing
+     */
+    public SpatialGrid(int cellSize, Function<T, Hitbox> hitbox) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("The cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.hitbox = hitbox;
+    }
+
+    /**
+     * Adds a thing to the cells its hitbox overlaps, a thing already kept is updated instead
+     *
+     * @param item the thing to add
+     */
+    public void add(T item) {
+        if (this.entries.containsKey(item)) {
+            this.update(item);
+            return;
+        }
+        Entry<T> entry = new Entry<>(item);
+        this.entries.put(item, entry);
+        this.place(entry, this.hitbox.apply(item));
+    }
+
+    /**
+     * Removes a thing
+     *
+     * @param item the thing to remove
+     * @return true if the thing was in the grid
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = this.entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        this.unplace(entry);
+        return true;
+    }
+
+    /**
+     * Moves a thing to the cells of its hitbox, after it moved or changed size. Nothing changes if it is in the same
+     * cells
+     *
+     * @param item the thing that moved
+     * @return true if the thing was in the grid
+     */
+    public boolean update(T item) {
+        Entry<T> entry = this.entries.get(item);
+        if (entry == null) {
+            return false;
+        }
+        Hitbox hitbox = this.hitbox.apply(item);
+        int minCellX = this.toCell(hitbox.getTopLeftCorner().getXcord());
+        int minCellY = this.toCell(hitbox.getTopLeftCorner().getYcord());
+        int maxCellX = this.toCell(hitbox.getTopLeftCorner().getXcord() + hitbox.getWidth());
+        int maxCellY = this.toCell(hitbox.getTopLeftCorner().getYcord() + hitbox.getHeight());
+        if (minCellX != entry.minCellX || minCellY != entry.minCellY || maxCellX != entry.maxCellX || maxCellY != entry.maxCellY) {
+            this.unplace(entry);
+            this.place(entry, hitbox);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every thing
+     */
+    public void clear() {
+        this.cells.clear();
+        this.entries.clear();
+    }
+
+    /**
+     * Adds the things whose hitboxes overlap or touch a box to a list, each thing once
+     *
+     * @param minX x coordinate of the left of the box
+     * @param minY y coordinate of the top of the box
+     * @param maxX x coordinate of the right of the box
+     * @param maxY y coordinate of the bottom of the box
+     * @param into list the things are added to
+     * @return the given list
+     */
+    public List<T> queryAABB(int minX, int minY, int maxX, int maxY, List<T> into) {
+        int minCellX = this.toCell(minX);
+        int minCellY = this.toCell(minY);
+        int maxCellX = this.toCell(maxX);
+        int maxCellY = this.toCell(maxY);
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                List<Entry<T>> cell = this.cells.get(key(cellX, cellY));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<T> entry : cell) {
+                    //a thing in several cells is only added from the first of them the box covers
+                    if (cellX != Math.max(minCellX, entry.minCellX) || cellY != Math.max(minCellY, entry.minCellY)) {
+                        continue;
+                    }
+                    Hitbox hitbox = this.hitbox.apply(entry.item);
+                    int left = hitbox.getTopLeftCorner().getXcord();
+                    int top = hitbox.getTopLeftCorner().getYcord();
+                    if (left <= maxX && left + hitbox.getWidth() >= minX && top <= maxY && top + hitbox.getHeight() >= minY) {
+                        into.add(entry.item);
+                    }
+                }
+            }
+        }
+        return into;
+    }
+
+    /**
+     * Adds the things whose hitboxes overlap or touch a circle to a list, each thing once
+     *
+     * @param x      x coordinate of the center of the circle
+     * @param y      y coordinate of the center of the circle
+     * @param radius radius of the circle
+     * @param into   list the things are added to
+     * @return the given list
+     */
+    public List<T> queryRadius(int x, int y, int radius, List<T> into) {
+        int start = into.size();
+        this.queryAABB(x - radius, y - radius, x + radius, y + radius, into);
+        //the box around the circle also has things in its corners, which are taken out again
+        long radiusSquared = (long) radius * radius;
+        int kept = start;
+        for (int i = start; i < into.size(); i++) {
+            T item = into.get(i);
+            Hitbox hitbox = this.hitbox.apply(item);
+            int left = hitbox.getTopLeftCorner().getXcord();
+            int top = hitbox.getTopLeftCorner().getYcord();
+            long dx = x - Math.max(left, Math.min(x, left + hitbox.getWidth()));
+            long dy = y - Math.max(top, Math.min(y, top + hitbox.getHeight()));
+            if (dx * dx + dy * dy <= radiusSquared) {
+                into.set(kept++, item);
+            }
+        }
+        into.subList(kept, into.size()).clear();
+        return into;
+    }
+
+    /**
+     * Adds an entry to the cells a hitbox overlaps
+     *
+     * @param entry  the entry
+     * @param hitbox hitbox of its thing
+     */
+    private void place(Entry<T> entry, Hitbox hitbox) {
+        entry.minCellX = this.toCell(hitbox.getTopLeftCorner().getXcord());
+        entry.minCellY = this.toCell(hitbox.getTopLeftCorner().getYcord());
+        entry.maxCellX = this.toCell(hitbox.getTopLeftCorner().getXcord() + hitbox.getWidth());
+        entry.maxCellY = this.toCell(hitbox.getTopLeftCorner().getYcord() + hitbox.getHeight());
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+                this.cells.computeIfAbsent(key(cellX, cellY), key -> new ArrayList<>(4)).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the cells it was added to, dropping cells left empty
+     *
+     * @param entry the entry
+     */
+    private void unplace(Entry<T> entry) {
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+                Long key = key(cellX, cellY);
+                List<Entry<T>> cell = this.cells.get(key);
+                if (cell != null && cell.remove(entry) && cell.isEmpty()) {
+                    this.cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the coordinate of the cell a coordinate of the level is in, cells left of or above 0 are negative
+     *
+     * @param coordinate x or y coordinate of the level
+     * @return x or y coordinate of the cell
+     */
+    private int toCell(int coordinate) {
+        return Math.floorDiv(coordinate, this.cellSize);
+    }
+
+    /**
+     * Packs the coordinates of a cell into the key of the cell
+     *
+     * @param cellX x coordinate of the cell
+     * @param cellY y coordinate of the cell
+     * @return key of the cell
+     */
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    //main tests the class methods
+    public static void main(String[] args) {
+        SpatialGrid<Hitbox> grid = new SpatialGrid<>(100, hitbox -> hitbox);
+        Hitbox wide = new Hitbox(new Location(0, 0), 50, 500);
+        Hitbox small = new Hitbox(new Location(300, 300), 10, 10);
+        grid.add(wide);
+        grid.add(small);
+        grid.add(new Hitbox(new Location(-250, -250), 10, 10));
+        System.out.println("Testing a thing over several cells is found once. Should be 1: " + grid.queryAABB(0, 0, 1000, 40, new ArrayList<>()).size());
+        System.out.println("Testing touching boxes. Should be 2: " + grid.queryAABB(310, 0, 320, 300, new ArrayList<>()).size());
+        System.out.println("Testing negative cells. Should be 1: " + grid.queryAABB(-300, -300, -200, -200, new ArrayList<>()).size());
+        System.out.println("Testing radius. Should be 1: " + grid.queryRadius(295, 295, 10, new ArrayList<>()).size());
+        System.out.println("Testing radius misses the corner. Should be 0: " + grid.queryRadius(285, 285, 20, new ArrayList<>()).size());
+        small.setLocation(new Location(2000, 300));
+        grid.update(small);
+        System.out.println("Testing update. Should be 0 1: " + grid.queryAABB(290, 290, 320, 320, new ArrayList<>()).size()
+                + " " + grid.queryAABB(1990, 290, 2020, 320, new ArrayList<>()).size());
+        System.out.println("Testing remove. Should be true 2: " + grid.remove(wide) + " " + grid.size());
+        System.out.println("Testing remove twice. Should be false: " + grid.remove(wide));
+        for (int i = 0; i < 1000; i++) {
+            grid.add(new Hitbox(new Location(i * 37, i % 7 * 60), 40, 40));
+        }
+        System.out.println("Testing query among many. Should be true: " + (grid.queryRadius(5000, 100, 200, new ArrayList<>()).size() < 20));
+    }
+
+    /**
+     * A thing in the grid and the range of cells it was added to
+     */
+    private static class Entry<T> {
+
+        private final T item;
+        private int minCellX, minCellY, maxCellX, maxCellY;
+
+        private Entry(T item) {
+            this.item = item;
+        }
+    }
+}
@@ -40,9 +40,21 @@ public class Sound {
     private static Media enemyDeathMedia = new Media(new File(enemyDeath).toURI().toString());
     private static MediaPlayer enemyDeathPlayer = new MediaPlayer(enemyDeathMedia);
 
+    /**
+     * true while no sound should be played, e.g. while exporting the frames of a session
+     */
+    private static volatile boolean muted = false;
+
+    public static void setMuted(boolean muted) {
+        Sound.muted = muted;
+    }
+
 
 
     public void playTheme() {
+        if (muted) {
+            return;
+        }
         themePlayer.setCycleCount(MediaPlayer.INDEFINITE);
         themePlayer.play();
     }
@@ -52,32 +64,50 @@ public class Sound {
     }
 
     public void takeDamageSound() {
+        if (muted) {
+            return;
+        }
         checkStatus(damagePlayer);
         damagePlayer.play();
 
     }
 
     public void playETDeath() {
+        if (muted) {
+            return;
+        }
         checkStatus(deadPlayer);
         deadPlayer.play();
     }
 
     public void playWin() {
+        if (muted) {
+            return;
+        }
         checkStatus(winPlayer);
         winPlayer.play();
     }
 
     public void playReese() {
+        if (muted) {
+            return;
+        }
         checkStatus(reesePlayer);
         reesePlayer.play();
     }
 
     public void playPhone() {
+        if (muted) {
+            return;
+        }
         checkStatus(phonePlayer);
         phonePlayer.play();
     }
 
     public void playEnemyDeath() {
+        if (muted) {
+            return;
+        }
     	checkStatus(enemyDeathPlayer);
     	enemyDeathPlayer.play();
     }